@@ -0,0 +1,150 @@
+package com.example.currencyrateservice.alert;
+
+import com.example.currencyrateservice.data.dto.AlertNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class AlertDispatcher {
+
+    private static final int DELIVERY_CONCURRENCY = 4;
+
+    private final WebClient webClient;
+    private final Queue<PendingNotification> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final int batchSize;
+    private final int maxPending;
+    private final Duration flushInterval;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter dropped;
+    private Disposable subscription;
+
+    public AlertDispatcher(WebClient.Builder webClientBuilder,
+                           MeterRegistry meterRegistry,
+                           @Value("${alerts.delivery.batch-size:100}") int batchSize,
+                           @Value("${alerts.delivery.max-pending:10000}") int maxPending,
+                           @Value("${alerts.delivery.flush-interval:PT1S}") Duration flushInterval,
+                           @Value("${alerts.delivery.max-retries:3}") int maxRetries,
+                           @Value("${alerts.delivery.retry-backoff:PT0.5S}") Duration retryBackoff) {
+        this.webClient = webClientBuilder.build();
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.flushInterval = flushInterval;
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+        this.delivered = counter(meterRegistry, "delivered");
+        this.failed = counter(meterRegistry, "failed");
+        this.dropped = counter(meterRegistry, "dropped");
+    }
+
+    public void enqueue(String webhookUrl, AlertNotification notification) {
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        pending.add(new PendingNotification(webhookUrl, notification));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = Flux.interval(flushInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> flush())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    public Mono<Void> flush() {
+        return Flux.<Map<String, List<AlertNotification>>>generate(sink -> {
+                    Map<String, List<AlertNotification>> batches = drainBatch();
+                    if (batches.isEmpty()) {
+                        sink.complete();
+                    } else {
+                        sink.next(batches);
+                    }
+                })
+                .flatMapIterable(Map::entrySet, 1)
+                .flatMap(batch -> deliver(batch.getKey(), batch.getValue()), DELIVERY_CONCURRENCY)
+                .then();
+    }
+
+    private Map<String, List<AlertNotification>> drainBatch() {
+        Map<String, List<AlertNotification>> batches = new LinkedHashMap<>();
+        for (int i = 0; i < batchSize; i++) {
+            PendingNotification next = pending.poll();
+            if (next == null) {
+                break;
+            }
+            pendingCount.decrementAndGet();
+            batches.computeIfAbsent(next.webhookUrl(), url -> new ArrayList<>()).add(next.notification());
+        }
+        return batches;
+    }
+
+    private Mono<Void> deliver(String webhookUrl, List<AlertNotification> notifications) {
+        return webClient.post()
+                .uri(webhookUrl)
+                .bodyValue(notifications)
+                .retrieve()
+                .toBodilessEntity()
+                .retryWhen(Retry.backoff(maxRetries, retryBackoff).filter(AlertDispatcher::isRetryable))
+                .doOnSuccess(response -> delivered.increment(notifications.size()))
+                .onErrorResume(e -> {
+                    failed.increment(notifications.size());
+                    log.warn("Could not deliver {} alerts to {}: {}", notifications.size(), webhookUrl, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return e instanceof WebClientRequestException || e instanceof IOException;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("currency.rates.alerts.notifications")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record PendingNotification(String webhookUrl, AlertNotification notification) {
+    }
+
+}
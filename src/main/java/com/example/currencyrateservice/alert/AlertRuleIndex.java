@@ -0,0 +1,162 @@
+package com.example.currencyrateservice.alert;
+
+import com.example.currencyrateservice.cache.RecentTickStore;
+import com.example.currencyrateservice.data.dto.AlertNotification;
+import com.example.currencyrateservice.data.dto.RateWindowStats;
+import com.example.currencyrateservice.data.model.AlertRule;
+import com.example.currencyrateservice.data.model.RateType;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Component
+public class AlertRuleIndex {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final RecentTickStore tickStore;
+    private final AlertDispatcher dispatcher;
+    private final Map<RateType, Map<String, CurrencyRules>> rules = new EnumMap<>(RateType.class);
+    private final Map<Long, AlertRule> rulesById = new ConcurrentHashMap<>();
+
+    public AlertRuleIndex(RecentTickStore tickStore, AlertDispatcher dispatcher) {
+        this.tickStore = tickStore;
+        this.dispatcher = dispatcher;
+        for (RateType type : RateType.values()) {
+            rules.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    public void add(AlertRule rule) {
+        remove(rule.getId());
+        rulesById.put(rule.getId(), rule);
+        rules.get(rule.getRateType())
+                .computeIfAbsent(rule.getCurrency(), currency -> new CurrencyRules())
+                .add(rule);
+    }
+
+    public void remove(Long ruleId) {
+        AlertRule existing = rulesById.remove(ruleId);
+        if (existing != null) {
+            Optional.ofNullable(rules.get(existing.getRateType()).get(existing.getCurrency()))
+                    .ifPresent(currencyRules -> currencyRules.remove(existing));
+        }
+    }
+
+    public int size() {
+        return rulesById.size();
+    }
+
+    public void onTick(RateType type, String currency, BigDecimal rate) {
+        CurrencyRules currencyRules = rules.get(type).get(currency);
+        if (currencyRules == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        currencyRules.crossed(rate, window -> tickStore.stats(type, currency, window).map(AlertRuleIndex::movePercent))
+                .forEach(fired -> dispatcher.enqueue(fired.rule().getWebhookUrl(), new AlertNotification(
+                        fired.rule().getId(), type, currency, fired.rule().getKind(),
+                        fired.rule().getThreshold(), fired.value(), now)));
+    }
+
+    private static BigDecimal movePercent(RateWindowStats stats) {
+        if (stats.min().signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return stats.max().subtract(stats.min())
+                .divide(stats.min(), MathContext.DECIMAL64)
+                .multiply(HUNDRED);
+    }
+
+    private static final class CurrencyRules {
+
+        private final NavigableMap<BigDecimal, List<AlertRule>> above = new TreeMap<>();
+        private final NavigableMap<BigDecimal, List<AlertRule>> below = new TreeMap<>();
+        private final Map<Integer, MoveRules> movesByWindow = new HashMap<>();
+        private BigDecimal lastRate;
+
+        private synchronized void add(AlertRule rule) {
+            thresholds(rule).computeIfAbsent(rule.getThreshold(), threshold -> new ArrayList<>()).add(rule);
+        }
+
+        private synchronized void remove(AlertRule rule) {
+            NavigableMap<BigDecimal, List<AlertRule>> thresholds = thresholds(rule);
+            List<AlertRule> atThreshold = thresholds.get(rule.getThreshold());
+            if (atThreshold != null) {
+                atThreshold.removeIf(candidate -> candidate.getId().equals(rule.getId()));
+                if (atThreshold.isEmpty()) {
+                    thresholds.remove(rule.getThreshold());
+                }
+            }
+        }
+
+        private synchronized List<FiredRule> crossed(BigDecimal rate,
+                                                     Function<Duration, Optional<BigDecimal>> moveForWindow) {
+            List<FiredRule> fired = new ArrayList<>();
+            if (lastRate != null) {
+                int direction = rate.compareTo(lastRate);
+                if (direction > 0) {
+                    collect(above.subMap(lastRate, false, rate, true).values(), rate, fired);
+                } else if (direction < 0) {
+                    collect(below.subMap(rate, true, lastRate, false).values(), rate, fired);
+                }
+            }
+            lastRate = rate;
+
+            for (Map.Entry<Integer, MoveRules> entry : movesByWindow.entrySet()) {
+                MoveRules moveRules = entry.getValue();
+                if (moveRules.byThreshold.isEmpty()) {
+                    continue;
+                }
+                BigDecimal move = moveForWindow.apply(Duration.ofSeconds(entry.getKey())).orElse(BigDecimal.ZERO);
+                if (move.compareTo(moveRules.lastMove) > 0) {
+                    collect(moveRules.byThreshold.subMap(moveRules.lastMove, false, move, true).values(), move, fired);
+                }
+                moveRules.lastMove = move;
+            }
+            return fired;
+        }
+
+        private NavigableMap<BigDecimal, List<AlertRule>> thresholds(AlertRule rule) {
+            return switch (rule.getKind()) {
+                case CROSSES_ABOVE -> above;
+                case CROSSES_BELOW -> below;
+                case MOVES_PERCENT -> movesByWindow.computeIfAbsent(rule.getWindowSeconds(), window -> new MoveRules()).byThreshold;
+            };
+        }
+
+        private static void collect(Collection<List<AlertRule>> matches, BigDecimal value, List<FiredRule> fired) {
+            for (List<AlertRule> atThreshold : matches) {
+                for (AlertRule rule : atThreshold) {
+                    fired.add(new FiredRule(rule, value));
+                }
+            }
+        }
+
+    }
+
+    private static final class MoveRules {
+
+        private final NavigableMap<BigDecimal, List<AlertRule>> byThreshold = new TreeMap<>();
+        private BigDecimal lastMove = BigDecimal.ZERO;
+
+    }
+
+    private record FiredRule(AlertRule rule, BigDecimal value) {
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.example.currencyrateservice.cache;
+
+import com.example.currencyrateservice.data.model.Currency;
+import com.example.currencyrateservice.store.CurrencyCodeStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class CurrencyDictionary {
+
+    private final CurrencyCodeStore currencyCodeStore;
+    private final Map<String, Short> idsByCode = new ConcurrentHashMap<>();
+    private final Map<Short, String> codesById = new ConcurrentHashMap<>();
+    private final AtomicReference<Mono<Void>> inFlightRefresh = new AtomicReference<>();
+
+    public CurrencyDictionary(CurrencyCodeStore currencyCodeStore) {
+        this.currencyCodeStore = currencyCodeStore;
+    }
+
+    public short idOf(String code) {
+        Short id = idsByCode.get(code);
+        if (id == null) {
+            throw new IllegalStateException("Currency " + code + " is not registered");
+        }
+        return id;
+    }
+
+    public Optional<Short> findId(String code) {
+        return Optional.ofNullable(idsByCode.get(code));
+    }
+
+    public String codeOf(Short id) {
+        String code = codesById.get(id);
+        if (code == null) {
+            throw new IllegalStateException("Currency id " + id + " is not known");
+        }
+        return code;
+    }
+
+    public boolean isKnown(Short id) {
+        return codesById.containsKey(id);
+    }
+
+    public Mono<Void> register(Collection<String> codes) {
+        List<String> missing = codes.stream()
+                .filter(code -> !idsByCode.containsKey(code))
+                .distinct()
+                .toList();
+        if (missing.isEmpty()) {
+            return Mono.empty();
+        }
+        return currencyCodeStore.register(missing)
+                .doOnNext(this::put)
+                .count()
+                .doOnNext(count -> log.debug("Registered {} currency codes", count))
+                .then();
+    }
+
+    public Mono<Void> refreshIfMissing(Collection<String> codes) {
+        return codes.stream().allMatch(idsByCode::containsKey) ? Mono.empty() : refresh();
+    }
+
+    public <T> Flux<T> withKnownIds(Flux<T> rows, Function<T, Short> idExtractor) {
+        return rows.concatMap(row -> isKnown(idExtractor.apply(row))
+                ? Mono.just(row)
+                : refresh().thenReturn(row));
+    }
+
+    public Mono<Void> refresh() {
+        Mono<Void> refresh = inFlightRefresh.get();
+        if (refresh != null) {
+            return refresh;
+        }
+        Mono<Void> newRefresh = currencyCodeStore.findAll()
+                .doOnNext(this::put)
+                .count()
+                .doOnNext(count -> log.info("Loaded {} currency codes into dictionary", count))
+                .doFinally(signal -> inFlightRefresh.set(null))
+                .then()
+                .cache();
+        if (inFlightRefresh.compareAndSet(null, newRefresh)) {
+            return newRefresh;
+        }
+        Mono<Void> concurrentRefresh = inFlightRefresh.get();
+        return concurrentRefresh != null ? concurrentRefresh : newRefresh;
+    }
+
+    public int size() {
+        return idsByCode.size();
+    }
+
+    private void put(Currency currency) {
+        idsByCode.put(currency.getCode(), currency.getId());
+        codesById.put(currency.getId(), currency.getCode());
+    }
+
+}
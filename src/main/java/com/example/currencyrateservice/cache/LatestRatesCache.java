@@ -0,0 +1,153 @@
+package com.example.currencyrateservice.cache;
+
+import com.example.currencyrateservice.data.dto.CurrencyRateItem;
+import com.example.currencyrateservice.data.dto.CurrencyRateResponse;
+import com.example.currencyrateservice.data.dto.RateChangesResponse;
+import com.example.currencyrateservice.data.model.RateType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class LatestRatesCache {
+
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final int changeLogCapacity;
+    private final Deque<RateChange> changeLog = new ArrayDeque<>();
+    private final Map<String, BigDecimal> fiatRates = new HashMap<>();
+    private final Map<String, BigDecimal> cryptoRates = new HashMap<>();
+    private volatile Snapshot latest;
+    private long truncatedThrough;
+
+    public LatestRatesCache(@Value("${change-log.capacity:10000}") int changeLogCapacity) {
+        this.changeLogCapacity = changeLogCapacity;
+    }
+
+    public synchronized void update(CurrencyRateResponse response) {
+        long version = latest == null ? 1 : latest.version() + 1;
+        int fiatChanges = appendChanges(version, RateType.FIAT, fiatRates, response.fiat());
+        int cryptoChanges = appendChanges(version, RateType.CRYPTO, cryptoRates, response.crypto());
+        latest = new Snapshot(version, response);
+        log.debug("Rates snapshot {}: {} fiat and {} crypto changes", version, fiatChanges, cryptoChanges);
+    }
+
+    public synchronized void updateFiat(List<CurrencyRateItem> fiat) {
+        update(new CurrencyRateResponse(fiat, latest == null ? List.of() : latest.response().crypto()));
+    }
+
+    public synchronized void updateCrypto(List<CurrencyRateItem> crypto) {
+        update(new CurrencyRateResponse(latest == null ? List.of() : latest.response().fiat(), crypto));
+    }
+
+    public Optional<CurrencyRateResponse> get() {
+        Snapshot snapshot = latest;
+        return snapshot == null ? Optional.empty() : Optional.of(snapshot.response());
+    }
+
+    public String version() {
+        Snapshot snapshot = latest;
+        return token(snapshot == null ? 0 : snapshot.version());
+    }
+
+    public synchronized RateChangesResponse changesSince(String since) {
+        if (latest == null) {
+            return new RateChangesResponse(token(0), true, List.of(), List.of(), List.of(), List.of());
+        }
+        long sinceVersion = parseVersion(since);
+        if (sinceVersion < 0 || sinceVersion < truncatedThrough || sinceVersion > latest.version()) {
+            return new RateChangesResponse(token(latest.version()), true,
+                    latest.response().fiat(), latest.response().crypto(), List.of(), List.of());
+        }
+
+        Map<String, RateChange> fiat = new LinkedHashMap<>();
+        Map<String, RateChange> crypto = new LinkedHashMap<>();
+        Iterator<RateChange> newestFirst = changeLog.descendingIterator();
+        while (newestFirst.hasNext()) {
+            RateChange change = newestFirst.next();
+            if (change.version() <= sinceVersion) {
+                break;
+            }
+            Map<String, RateChange> target = change.type() == RateType.FIAT ? fiat : crypto;
+            target.putIfAbsent(change.currency(), change);
+        }
+        return new RateChangesResponse(token(latest.version()), false,
+                updated(fiat), updated(crypto), removed(fiat), removed(crypto));
+    }
+
+    private String token(long version) {
+        return epoch + "-" + version;
+    }
+
+    private long parseVersion(String since) {
+        int separator = since.lastIndexOf('-');
+        if (separator < 0 || !since.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(since.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static List<CurrencyRateItem> updated(Map<String, RateChange> changes) {
+        return changes.values().stream()
+                .filter(change -> change.item() != null)
+                .map(RateChange::item)
+                .toList();
+    }
+
+    private static List<String> removed(Map<String, RateChange> changes) {
+        return changes.values().stream()
+                .filter(change -> change.item() == null)
+                .map(RateChange::currency)
+                .toList();
+    }
+
+    private int appendChanges(long version, RateType type, Map<String, BigDecimal> current, List<CurrencyRateItem> items) {
+        int changes = 0;
+        Set<String> seen = new HashSet<>();
+        for (CurrencyRateItem item : items) {
+            seen.add(item.currency());
+            BigDecimal previous = current.put(item.currency(), item.rate());
+            if (previous == null || previous.compareTo(item.rate()) != 0) {
+                changeLog.addLast(new RateChange(version, type, item.currency(), item));
+                changes++;
+            }
+        }
+        Iterator<String> known = current.keySet().iterator();
+        while (known.hasNext()) {
+            String currency = known.next();
+            if (!seen.contains(currency)) {
+                known.remove();
+                changeLog.addLast(new RateChange(version, type, currency, null));
+                changes++;
+            }
+        }
+        while (changeLog.size() > changeLogCapacity) {
+            truncatedThrough = Math.max(truncatedThrough, changeLog.removeFirst().version());
+        }
+        return changes;
+    }
+
+    private record Snapshot(long version, CurrencyRateResponse response) {
+    }
+
+    private record RateChange(long version, RateType type, String currency, CurrencyRateItem item) {
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.example.currencyrateservice.cache;
+
+import com.example.currencyrateservice.data.model.CryptoRate;
+import com.example.currencyrateservice.data.model.FiatRate;
+import com.example.currencyrateservice.data.model.RateType;
+import com.example.currencyrateservice.store.RateStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+public class RecentTickLoader {
+
+    private final RecentTickStore tickStore;
+    private final CurrencyDictionary currencyDictionary;
+    private final RateStore rateStore;
+    private final Duration warmUpWindow;
+
+    public RecentTickLoader(RecentTickStore tickStore,
+                            CurrencyDictionary currencyDictionary,
+                            RateStore rateStore,
+                            @Value("${recent-ticks.warm-up-window:PT1H}") Duration warmUpWindow) {
+        this.tickStore = tickStore;
+        this.currencyDictionary = currencyDictionary;
+        this.rateStore = rateStore;
+        this.warmUpWindow = warmUpWindow;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        load().subscribe();
+    }
+
+    public Mono<Void> load() {
+        LocalDateTime since = LocalDateTime.now().minus(warmUpWindow);
+
+        Mono<Long> fiat = currencyDictionary.withKnownIds(
+                        rateStore.findFiatRatesSince(since),
+                        FiatRate::getCurrencyId)
+                .doOnNext(rate -> tickStore.preload(RateType.FIAT,
+                        currencyDictionary.codeOf(rate.getCurrencyId()), rate.getRate(), rate.getCreatedAt()))
+                .count();
+        Mono<Long> crypto = currencyDictionary.withKnownIds(
+                        rateStore.findCryptoRatesSince(since),
+                        CryptoRate::getCurrencyId)
+                .doOnNext(rate -> tickStore.preload(RateType.CRYPTO,
+                        currencyDictionary.codeOf(rate.getCurrencyId()), rate.getRate(), rate.getCreatedAt()))
+                .count();
+
+        return Mono.zip(fiat, crypto)
+                .doOnNext(counts -> log.info("Warmed recent tick buffers with {} fiat and {} crypto ticks since {}",
+                        counts.getT1(), counts.getT2(), since))
+                .onErrorResume(e -> {
+                    log.warn("Could not warm recent tick buffers: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.example.currencyrateservice.cache;
+
+import com.example.currencyrateservice.data.dto.HistoricalRateItem;
+import com.example.currencyrateservice.data.dto.RateWindowStats;
+import com.example.currencyrateservice.data.model.RateType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class RecentTickStore {
+
+    public static final int SCALE = 8;
+
+    private final Map<RateType, Map<String, TickRingBuffer>> buffers = new EnumMap<>(RateType.class);
+    private final int capacity;
+
+    public RecentTickStore(@Value("${recent-ticks.capacity:4096}") int capacity) {
+        this.capacity = capacity;
+        for (RateType type : RateType.values()) {
+            buffers.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    public void record(RateType type, String currency, BigDecimal rate, LocalDateTime createdAt) {
+        Long scaledRate = toScaledRate(currency, rate);
+        if (scaledRate != null) {
+            bufferFor(type, currency).add(toEpochMillis(createdAt), scaledRate);
+        }
+    }
+
+    public void preload(RateType type, String currency, BigDecimal rate, LocalDateTime createdAt) {
+        Long scaledRate = toScaledRate(currency, rate);
+        if (scaledRate != null) {
+            bufferFor(type, currency).merge(toEpochMillis(createdAt), scaledRate);
+        }
+    }
+
+    public List<HistoricalRateItem> recent(RateType type, String currency, Duration window) {
+        List<HistoricalRateItem> ticks = new ArrayList<>();
+        buffer(type, currency).ifPresent(buffer -> buffer.forEachSince(windowStart(window),
+                (epochMillis, scaledRate) -> ticks.add(
+                        new HistoricalRateItem(currency, toRate(scaledRate), toLocalDateTime(epochMillis)))));
+        return ticks;
+    }
+
+    public Optional<RateWindowStats> stats(RateType type, String currency, Duration window) {
+        return buffer(type, currency).flatMap(buffer -> {
+            StatsAccumulator accumulator = new StatsAccumulator();
+            buffer.forEachSince(windowStart(window), accumulator);
+            return accumulator.count == 0 ? Optional.empty() : Optional.of(accumulator.toStats(currency));
+        });
+    }
+
+    public int currencyCount(RateType type) {
+        return buffers.get(type).size();
+    }
+
+    private TickRingBuffer bufferFor(RateType type, String currency) {
+        return buffers.get(type).computeIfAbsent(currency, key -> new TickRingBuffer(capacity));
+    }
+
+    private Optional<TickRingBuffer> buffer(RateType type, String currency) {
+        return Optional.ofNullable(buffers.get(type).get(currency));
+    }
+
+    private static Long toScaledRate(String currency, BigDecimal rate) {
+        try {
+            return rate.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            log.debug("Rate {} for {} does not fit the tick buffer, skipping", rate, currency);
+            return null;
+        }
+    }
+
+    private long windowStart(Duration window) {
+        return System.currentTimeMillis() - window.toMillis();
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static BigDecimal toRate(long scaledRate) {
+        return BigDecimal.valueOf(scaledRate, SCALE);
+    }
+
+    private static final class StatsAccumulator implements TickRingBuffer.TickVisitor {
+
+        private int count;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+        private long sumLow;
+        private long sumHigh;
+        private long first;
+        private long previous;
+        private long last;
+        private long lastAt;
+
+        @Override
+        public void visit(long epochMillis, long scaledValue) {
+            if (count == 0) {
+                first = scaledValue;
+            }
+            previous = count == 0 ? scaledValue : last;
+            last = scaledValue;
+            lastAt = epochMillis;
+            min = Math.min(min, scaledValue);
+            max = Math.max(max, scaledValue);
+            long low = sumLow + scaledValue;
+            sumHigh += (scaledValue >> 63) + (Long.compareUnsigned(low, sumLow) < 0 ? 1 : 0);
+            sumLow = low;
+            count++;
+        }
+
+        private RateWindowStats toStats(String currency) {
+            BigInteger sum = BigInteger.valueOf(sumHigh).shiftLeft(Long.SIZE)
+                    .add(new BigInteger(Long.toUnsignedString(sumLow)));
+            BigDecimal average = new BigDecimal(sum).divide(BigDecimal.valueOf(count), 0, RoundingMode.HALF_UP).movePointLeft(SCALE);
+            return new RateWindowStats(currency, count, toRate(min), toRate(max), average, toRate(last),
+                    toRate(last - first), toRate(last - previous), toLocalDateTime(lastAt));
+        }
+
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.example.currencyrateservice.cache;
+
+public class TickRingBuffer {
+
+    private final long[] timestamps;
+    private final long[] values;
+    private int head;
+    private int size;
+
+    public TickRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.timestamps = new long[capacity];
+        this.values = new long[capacity];
+    }
+
+    public synchronized boolean add(long epochMillis, long scaledValue) {
+        if (size > 0 && epochMillis < timestamps[index(size - 1)]) {
+            return false;
+        }
+        timestamps[head] = epochMillis;
+        values[head] = scaledValue;
+        head = (head + 1) % timestamps.length;
+        if (size < timestamps.length) {
+            size++;
+        }
+        return true;
+    }
+
+    public synchronized boolean merge(long epochMillis, long scaledValue) {
+        int position = firstIndexAfter(epochMillis);
+        for (int i = position - 1; i >= 0 && timestamps[index(i)] == epochMillis; i--) {
+            if (values[index(i)] == scaledValue) {
+                return false;
+            }
+        }
+        if (position == size) {
+            return add(epochMillis, scaledValue);
+        }
+        if (size == timestamps.length) {
+            if (position == 0) {
+                return false;
+            }
+            for (int i = 1; i < position; i++) {
+                move(i, i - 1);
+            }
+            position--;
+        } else {
+            for (int i = size; i > position; i--) {
+                move(i - 1, i);
+            }
+            head = (head + 1) % timestamps.length;
+            size++;
+        }
+        timestamps[index(position)] = epochMillis;
+        values[index(position)] = scaledValue;
+        return true;
+    }
+
+    public synchronized void forEachSince(long sinceEpochMillis, TickVisitor visitor) {
+        for (int i = firstIndexSince(sinceEpochMillis); i < size; i++) {
+            int slot = index(i);
+            visitor.visit(timestamps[slot], values[slot]);
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return timestamps.length;
+    }
+
+    private int firstIndexSince(long sinceEpochMillis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[index(mid)] < sinceEpochMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstIndexAfter(long epochMillis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[index(mid)] <= epochMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void move(int fromLogicalIndex, int toLogicalIndex) {
+        timestamps[index(toLogicalIndex)] = timestamps[index(fromLogicalIndex)];
+        values[index(toLogicalIndex)] = values[index(fromLogicalIndex)];
+    }
+
+    private int index(int logicalIndex) {
+        return (head - size + logicalIndex + timestamps.length) % timestamps.length;
+    }
+
+    @FunctionalInterface
+    public interface TickVisitor {
+
+        void visit(long epochMillis, long scaledValue);
+
+    }
+
+}
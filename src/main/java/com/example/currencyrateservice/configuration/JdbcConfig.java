@@ -0,0 +1,80 @@
+package com.example.currencyrateservice.configuration;
+
+import com.example.currencyrateservice.routing.ReplicaLagMonitor;
+import com.example.currencyrateservice.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class JdbcConfig {
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    @ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+    public HikariDataSource replicaDataSource(@Value("${replica.jdbc-url:}") String replicaJdbcUrl,
+                                              @Value("${replica.url}") String replicaUrl,
+                                              @Value("${replica.username:${spring.datasource.username}}") String replicaUsername,
+                                              @Value("${replica.password:${spring.datasource.password}}") String replicaPassword,
+                                              @Value("${replica.jdbc-pool-size:2}") int poolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("currency-rates-replica");
+        dataSource.setJdbcUrl(replicaJdbcUrl.isBlank() ? replicaUrl.replaceFirst("^r2dbc:", "jdbc:") : replicaJdbcUrl);
+        dataSource.setUsername(replicaUsername);
+        dataSource.setPassword(replicaPassword);
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    public HikariDataSource exportPrimaryDataSource(@Value("${export.pool-size:1}") int poolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("currency-rates-export");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(0);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    public DataSource exportDataSource(@Qualifier("exportPrimaryDataSource") DataSource dataSource,
+                                       @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+                                       ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        DataSource replica = replicaDataSource.getIfAvailable();
+        ReplicaLagMonitor lagMonitor = replicaLagMonitor.getIfAvailable();
+        if (replica == null || lagMonitor == null) {
+            return dataSource;
+        }
+        return new ReplicaRoutingDataSource(dataSource, replica, lagMonitor);
+    }
+
+}
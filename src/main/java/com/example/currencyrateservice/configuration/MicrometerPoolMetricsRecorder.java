@@ -0,0 +1,85 @@
+package com.example.currencyrateservice.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.pool.PoolMetricsRecorder;
+
+import java.util.concurrent.TimeUnit;
+
+public class MicrometerPoolMetricsRecorder implements PoolMetricsRecorder {
+
+    private static final String ACQUIRE = "r2dbc.pool.acquire";
+    private static final String ACQUIRE_DESCRIPTION = "Time acquire requests spent pending for a pooled connection";
+    private static final String ALLOCATION = "r2dbc.pool.allocation";
+    private static final String ALLOCATION_DESCRIPTION = "Time spent opening new pooled connections";
+
+    private final Timer acquireSuccess;
+    private final Timer acquireFailure;
+    private final Timer allocationSuccess;
+    private final Timer allocationFailure;
+
+    public MicrometerPoolMetricsRecorder(MeterRegistry meterRegistry, String poolName) {
+        this.acquireSuccess = timer(meterRegistry, ACQUIRE, ACQUIRE_DESCRIPTION, poolName, "success");
+        this.acquireFailure = timer(meterRegistry, ACQUIRE, ACQUIRE_DESCRIPTION, poolName, "failure");
+        this.allocationSuccess = timer(meterRegistry, ALLOCATION, ALLOCATION_DESCRIPTION, poolName, "success");
+        this.allocationFailure = timer(meterRegistry, ALLOCATION, ALLOCATION_DESCRIPTION, poolName, "failure");
+    }
+
+    @Override
+    public void recordPendingSuccessAndLatency(long latencyMs) {
+        acquireSuccess.record(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordPendingFailureAndLatency(long latencyMs) {
+        acquireFailure.record(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordAllocationSuccessAndLatency(long latencyMs) {
+        allocationSuccess.record(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordAllocationFailureAndLatency(long latencyMs) {
+        allocationFailure.record(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordResetLatency(long latencyMs) {
+    }
+
+    @Override
+    public void recordDestroyLatency(long latencyMs) {
+    }
+
+    @Override
+    public void recordRecycled() {
+    }
+
+    @Override
+    public void recordLifetimeDuration(long millisecondsSinceAllocation) {
+    }
+
+    @Override
+    public void recordIdleTime(long millisecondsIdle) {
+    }
+
+    @Override
+    public void recordSlowPath() {
+    }
+
+    @Override
+    public void recordFastPath() {
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String name, String description, String poolName, String outcome) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("name", poolName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.example.currencyrateservice.configuration;
+
+import com.example.currencyrateservice.polling.CallBudget;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PollingConfig {
+
+    @Bean
+    public CallBudget upstreamCallBudget(@Value("${polling.enabled:false}") boolean pollingEnabled,
+                                         @Value("${polling.max-calls-per-minute:60}") int maxCallsPerMinute) {
+        return pollingEnabled ? new CallBudget(maxCallsPerMinute) : CallBudget.unlimited();
+    }
+
+}
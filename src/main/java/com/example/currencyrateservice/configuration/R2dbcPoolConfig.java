@@ -0,0 +1,119 @@
+package com.example.currencyrateservice.configuration;
+
+import com.example.currencyrateservice.routing.ReplicaLagMonitor;
+import com.example.currencyrateservice.routing.ReplicaRoutingConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import io.r2dbc.spi.ValidationDepth;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+@Configuration
+public class R2dbcPoolConfig {
+
+    private static final Option<Integer> PREPARED_STATEMENT_CACHE_QUERIES = Option.valueOf("preparedStatementCacheQueries");
+
+    @Value("${spring.r2dbc.url}")
+    private String url;
+
+    @Value("${spring.r2dbc.username}")
+    private String username;
+
+    @Value("${spring.r2dbc.password}")
+    private String password;
+
+    @Value("${spring.r2dbc.pool.initial-size:4}")
+    private int initialSize;
+
+    @Value("${spring.r2dbc.pool.max-size:20}")
+    private int maxSize;
+
+    @Value("${spring.r2dbc.pool.max-idle-time:PT30M}")
+    private Duration maxIdleTime;
+
+    @Value("${spring.r2dbc.pool.max-life-time:PT1H}")
+    private Duration maxLifeTime;
+
+    @Value("${spring.r2dbc.pool.max-acquire-time:PT3S}")
+    private Duration maxAcquireTime;
+
+    @Value("${spring.r2dbc.pool.max-create-connection-time:PT5S}")
+    private Duration maxCreateConnectionTime;
+
+    @Value("${spring.r2dbc.pool.max-validation-time:PT1S}")
+    private Duration maxValidationTime;
+
+    @Value("${spring.r2dbc.pool.validation-depth:REMOTE}")
+    private ValidationDepth validationDepth;
+
+    @Value("${r2dbc.prepared-statement-cache-queries:256}")
+    private int preparedStatementCacheQueries;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(MeterRegistry meterRegistry) {
+        return createPool("currency-rates", url, username, password, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+    public ConnectionPool replicaConnectionFactory(@Value("${replica.url}") String replicaUrl,
+                                                   @Value("${replica.username:${spring.r2dbc.username}}") String replicaUsername,
+                                                   @Value("${replica.password:${spring.r2dbc.password}}") String replicaPassword,
+                                                   MeterRegistry meterRegistry) {
+        return createPool("currency-rates-replica", replicaUrl, replicaUsername, replicaPassword, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaConnectionFactory") ConnectionPool replicaConnectionFactory,
+                                               @Value("${replica.max-lag:PT5S}") Duration maxLag,
+                                               @Value("${replica.lag-check-interval:PT5S}") Duration lagCheckInterval,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaConnectionFactory, maxLag, lagCheckInterval, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+    public ReplicaRoutingConnectionFactory routingConnectionFactory(@Qualifier("connectionFactory") ConnectionPool connectionFactory,
+                                                                    @Qualifier("replicaConnectionFactory") ConnectionPool replicaConnectionFactory,
+                                                                    ReplicaLagMonitor replicaLagMonitor) {
+        return new ReplicaRoutingConnectionFactory(connectionFactory, replicaConnectionFactory, replicaLagMonitor);
+    }
+
+    private ConnectionPool createPool(String name, String poolUrl, String poolUsername, String poolPassword,
+                                      MeterRegistry meterRegistry) {
+        ConnectionFactoryOptions urlOptions = ConnectionFactoryOptions.parse(poolUrl);
+        ConnectionFactoryOptions.Builder options = urlOptions.mutate()
+                .option(ConnectionFactoryOptions.USER, poolUsername)
+                .option(ConnectionFactoryOptions.PASSWORD, poolPassword);
+        if ("postgresql".equals(urlOptions.getValue(ConnectionFactoryOptions.DRIVER))) {
+            options.option(PREPARED_STATEMENT_CACHE_QUERIES, preparedStatementCacheQueries);
+        }
+
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name(name)
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .maxAcquireTime(maxAcquireTime)
+                .maxCreateConnectionTime(maxCreateConnectionTime)
+                .maxValidationTime(maxValidationTime)
+                .validationDepth(validationDepth)
+                .metricsRecorder(new MicrometerPoolMetricsRecorder(meterRegistry, name))
+                .build();
+        return new ConnectionPool(configuration);
+    }
+
+}
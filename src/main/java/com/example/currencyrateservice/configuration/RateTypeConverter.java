@@ -0,0 +1,17 @@
+package com.example.currencyrateservice.configuration;
+
+import com.example.currencyrateservice.data.model.RateType;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+@Component
+public class RateTypeConverter implements Converter<String, RateType> {
+
+    @Override
+    public RateType convert(String source) {
+        return RateType.valueOf(source.trim().toUpperCase(Locale.ROOT));
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.example.currencyrateservice.configuration;
+
+import com.example.currencyrateservice.service.CurrencyRateService;
+import com.example.currencyrateservice.sourcing.UpstreamProvider;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    private final ConnectionFactory connectionFactory;
+    private final List<ConnectionPool> connectionPools;
+    private final HttpClient currencyHttpClient;
+    private final List<UpstreamProvider> upstreamProviders;
+    private final CurrencyRateService currencyRateService;
+    private final boolean enabled;
+    private final int dbConnections;
+    private final Duration timeout;
+
+    public StartupWarmup(ConnectionFactory connectionFactory,
+                         List<ConnectionPool> connectionPools,
+                         HttpClient currencyHttpClient,
+                         List<UpstreamProvider> upstreamProviders,
+                         CurrencyRateService currencyRateService,
+                         @Value("${warmup.enabled:true}") boolean enabled,
+                         @Value("${warmup.db-connections:4}") int dbConnections,
+                         @Value("${warmup.timeout:PT20S}") Duration timeout) {
+        this.connectionFactory = connectionFactory;
+        this.connectionPools = connectionPools;
+        this.currencyHttpClient = currencyHttpClient;
+        this.upstreamProviders = upstreamProviders;
+        this.currencyRateService = currencyRateService;
+        this.enabled = enabled;
+        this.dbConnections = dbConnections;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+
+        Mono.when(
+                        step("database connections", warmUpDatabase()),
+                        step("upstream connections", warmUpUpstream()),
+                        step("latest rates snapshot", currencyRateService.loadLatestSnapshot().then())
+                )
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    log.warn("Warm-up did not complete within {}: {}", timeout, e.getMessage());
+                    return Mono.empty();
+                })
+                .block();
+
+        log.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private Mono<Void> warmUpDatabase() {
+        Mono<Void> poolWarmup = Flux.fromIterable(connectionPools)
+                .flatMap(pool -> pool.warmup()
+                        .doOnNext(created -> log.debug("Opened {} pooled connections", created)))
+                .then();
+        return poolWarmup.thenMany(Flux.range(0, dbConnections))
+                .flatMap(i -> Mono.usingWhen(
+                        connectionFactory.create(),
+                        connection -> Mono.from(connection.validate(ValidationDepth.REMOTE)),
+                        Connection::close))
+                .then();
+    }
+
+    private Mono<Void> warmUpUpstream() {
+        return currencyHttpClient.warmup()
+                .thenMany(Flux.fromIterable(upstreamProviders))
+                .flatMap(provider -> provider.webClient().head()
+                        .retrieve()
+                        .toBodilessEntity()
+                        .onErrorResume(e -> Mono.empty()))
+                .then();
+    }
+
+    private Mono<Void> step(String name, Mono<Void> warmUp) {
+        long startedAt = System.nanoTime();
+        return warmUp
+                .doOnSuccess(ignored -> log.info("Warmed up {} in {} ms",
+                        name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)))
+                .onErrorResume(e -> {
+                    log.warn("Could not warm up {}: {}", name, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+}
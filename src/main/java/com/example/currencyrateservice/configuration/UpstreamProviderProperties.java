@@ -0,0 +1,10 @@
+package com.example.currencyrateservice.configuration;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+public record UpstreamProviderProperties(String url,
+                                         @DefaultValue("PT5S") Duration connectTimeout,
+                                         @DefaultValue("PT4S") Duration timeout) {
+}
@@ -1,11 +1,15 @@
 package com.example.currencyrateservice.configuration;
 
+import com.example.currencyrateservice.sourcing.UpstreamProvider;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
@@ -13,6 +17,8 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
@@ -22,15 +28,43 @@ public class WebClientConfig {
     private String baseUrl;
 
     @Bean
-    public WebClient currencyWebClient() {
-        HttpClient httpClient = HttpClient.create()
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
-                .responseTimeout(Duration.ofSeconds(5))
+    public HttpClient currencyHttpClient() {
+        return httpClient(Duration.ofSeconds(5), Duration.ofSeconds(5));
+    }
+
+    @Bean
+    public WebClient currencyWebClient(HttpClient currencyHttpClient) {
+        return webClient(baseUrl, currencyHttpClient);
+    }
+
+    @Bean
+    public List<UpstreamProvider> upstreamProviders(Environment environment, WebClient currencyWebClient) {
+        Map<String, UpstreamProviderProperties> configured = Binder.get(environment)
+                .bind("external.providers", Bindable.mapOf(String.class, UpstreamProviderProperties.class))
+                .orElse(Map.of());
+        if (configured.isEmpty()) {
+            return List.of(new UpstreamProvider("default", currencyWebClient, Duration.ofSeconds(4)));
+        }
+        return configured.entrySet().stream()
+                .map(entry -> {
+                    UpstreamProviderProperties properties = entry.getValue();
+                    HttpClient httpClient = httpClient(properties.connectTimeout(), properties.timeout());
+                    return new UpstreamProvider(entry.getKey(), webClient(properties.url(), httpClient), properties.timeout());
+                })
+                .toList();
+    }
+
+    private static HttpClient httpClient(Duration connectTimeout, Duration responseTimeout) {
+        return HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .responseTimeout(responseTimeout)
                 .doOnConnected(conn -> conn
-                        .addHandlerLast(new ReadTimeoutHandler(5, TimeUnit.SECONDS))
-                        .addHandlerLast(new WriteTimeoutHandler(5, TimeUnit.SECONDS))
+                        .addHandlerLast(new ReadTimeoutHandler(responseTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(responseTimeout.toMillis(), TimeUnit.MILLISECONDS))
                 );
+    }
 
+    private static WebClient webClient(String baseUrl, HttpClient httpClient) {
         return WebClient.builder()
                 .baseUrl(baseUrl)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
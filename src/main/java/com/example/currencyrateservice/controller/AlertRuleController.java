@@ -0,0 +1,67 @@
+package com.example.currencyrateservice.controller;
+
+import com.example.currencyrateservice.data.dto.AlertRuleDTO;
+import com.example.currencyrateservice.service.AlertRuleService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/alerts/rules")
+public class AlertRuleController {
+
+    private final AlertRuleService alertRuleService;
+
+    public AlertRuleController(AlertRuleService alertRuleService) {
+        this.alertRuleService = alertRuleService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<AlertRuleDTO> create(@RequestBody AlertRuleDTO rule) {
+        return alertRuleService.create(rule)
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e));
+    }
+
+    @GetMapping
+    public Flux<AlertRuleDTO> findAll() {
+        return alertRuleService.findAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<AlertRuleDTO>> findById(@PathVariable Long id) {
+        return alertRuleService.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<AlertRuleDTO>> update(@PathVariable Long id, @RequestBody AlertRuleDTO rule) {
+        return alertRuleService.update(id, rule)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable Long id) {
+        return alertRuleService.delete(id)
+                .map(deleted -> deleted
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+
+}
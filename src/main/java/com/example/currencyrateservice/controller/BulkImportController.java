@@ -0,0 +1,44 @@
+package com.example.currencyrateservice.controller;
+
+import com.example.currencyrateservice.data.dto.BulkImportFormat;
+import com.example.currencyrateservice.data.dto.BulkImportResult;
+import com.example.currencyrateservice.data.model.RateType;
+import com.example.currencyrateservice.service.BulkImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/admin/import")
+public class BulkImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final BulkImportService bulkImportService;
+
+    public BulkImportController(BulkImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+
+    @PostMapping(path = "/{type}", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<BulkImportResult> importRates(@PathVariable RateType type,
+                                              @RequestParam(defaultValue = "true") boolean header,
+                                              @RequestParam(defaultValue = "false") boolean deferIndexes,
+                                              ServerHttpRequest request) {
+        BulkImportFormat format = MediaType.APPLICATION_NDJSON.isCompatibleWith(request.getHeaders().getContentType())
+                ? BulkImportFormat.NDJSON
+                : BulkImportFormat.CSV;
+
+        return bulkImportService.importRates(type, format, request.getBody(), header, deferIndexes)
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e));
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.example.currencyrateservice.controller;
+
+import com.example.currencyrateservice.data.dto.CompactionResult;
+import com.example.currencyrateservice.data.model.RateType;
+import com.example.currencyrateservice.service.CompactionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/admin/compaction")
+public class CompactionController {
+
+    private final CompactionService compactionService;
+
+    public CompactionController(CompactionService compactionService) {
+        this.compactionService = compactionService;
+    }
+
+    @PostMapping("/{type}")
+    public Mono<CompactionResult> compact(@PathVariable RateType type,
+                                          @RequestParam(defaultValue = "true") boolean dryRun) {
+        return compactionService.compact(type, dryRun)
+                .onErrorMap(IllegalStateException.class,
+                        e -> new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e));
+    }
+
+}
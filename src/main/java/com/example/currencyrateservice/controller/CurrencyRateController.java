@@ -1,25 +1,82 @@
 package com.example.currencyrateservice.controller;
 
+import com.example.currencyrateservice.cache.LatestRatesCache;
 import com.example.currencyrateservice.data.dto.CurrencyRateResponse;
+import com.example.currencyrateservice.data.dto.HistoricalRateItem;
+import com.example.currencyrateservice.data.dto.RateChangesResponse;
+import com.example.currencyrateservice.data.dto.RateWindowStats;
+import com.example.currencyrateservice.data.model.RateType;
+import com.example.currencyrateservice.limiter.AdaptiveConcurrencyLimiter;
 import com.example.currencyrateservice.service.CurrencyRateService;
+import com.example.currencyrateservice.service.RateHistoryService;
+import com.example.currencyrateservice.tracing.RequestTiming;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/currency-rates")
 public class CurrencyRateController {
 
     private final CurrencyRateService currencyRateService;
+    private final RateHistoryService rateHistoryService;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final LatestRatesCache latestRatesCache;
 
-    public CurrencyRateController(CurrencyRateService currencyRateService) {
+    public CurrencyRateController(CurrencyRateService currencyRateService,
+                                  RateHistoryService rateHistoryService,
+                                  AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                  LatestRatesCache latestRatesCache) {
         this.currencyRateService = currencyRateService;
+        this.rateHistoryService = rateHistoryService;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.latestRatesCache = latestRatesCache;
     }
 
     @GetMapping
     public Mono<CurrencyRateResponse> getCurrencyRates() {
-        return currencyRateService.getCurrencyRates();
+        return RequestTiming.timed(RequestTiming.HANDLER_STAGE,
+                concurrencyLimiter.execute(currencyRateService::getCurrencyRates, latestRatesCache::get));
+    }
+
+    @GetMapping(params = "since")
+    public Mono<RateChangesResponse> getChangesSince(@RequestParam String since) {
+        return RequestTiming.timed(RequestTiming.HANDLER_STAGE,
+                concurrencyLimiter.execute(currencyRateService::getCurrencyRates, latestRatesCache::get)
+                        .then(Mono.fromSupplier(() -> latestRatesCache.changesSince(since))));
+    }
+
+    @GetMapping("/as-of")
+    public Mono<List<HistoricalRateItem>> getRatesAsOf(
+            @RequestParam RateType type,
+            @RequestParam("currency") List<String> currencies,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        return rateHistoryService.getRatesAsOf(type, currencies, at);
+    }
+
+    @GetMapping("/recent")
+    public Mono<List<HistoricalRateItem>> getRecentRates(@RequestParam RateType type,
+                                                         @RequestParam String currency,
+                                                         @RequestParam(defaultValue = "PT15M") Duration window) {
+        return rateHistoryService.getRecentRates(type, currency, window);
+    }
+
+    @GetMapping("/recent/stats")
+    public Mono<ResponseEntity<RateWindowStats>> getRecentStats(@RequestParam RateType type,
+                                                                @RequestParam String currency,
+                                                                @RequestParam(defaultValue = "PT15M") Duration window) {
+        return rateHistoryService.getRecentStats(type, currency, window)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
 }
@@ -0,0 +1,16 @@
+package com.example.currencyrateservice.data.dto;
+
+import com.example.currencyrateservice.data.model.AlertKind;
+import com.example.currencyrateservice.data.model.RateType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record AlertNotification(Long ruleId,
+                                RateType type,
+                                String currency,
+                                AlertKind kind,
+                                BigDecimal threshold,
+                                BigDecimal value,
+                                LocalDateTime triggeredAt) {
+}
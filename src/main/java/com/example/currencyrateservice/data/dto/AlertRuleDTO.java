@@ -0,0 +1,15 @@
+package com.example.currencyrateservice.data.dto;
+
+import com.example.currencyrateservice.data.model.AlertKind;
+import com.example.currencyrateservice.data.model.RateType;
+
+import java.math.BigDecimal;
+
+public record AlertRuleDTO(Long id,
+                           RateType type,
+                           String currency,
+                           AlertKind kind,
+                           BigDecimal threshold,
+                           Integer windowSeconds,
+                           String webhookUrl) {
+}
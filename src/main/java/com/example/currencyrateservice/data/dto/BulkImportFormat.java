@@ -0,0 +1,8 @@
+package com.example.currencyrateservice.data.dto;
+
+public enum BulkImportFormat {
+
+    CSV,
+    NDJSON
+
+}
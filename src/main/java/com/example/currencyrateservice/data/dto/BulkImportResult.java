@@ -0,0 +1,4 @@
+package com.example.currencyrateservice.data.dto;
+
+public record BulkImportResult(String table, long rows, long elapsedMillis, long rowsPerSecond) {
+}
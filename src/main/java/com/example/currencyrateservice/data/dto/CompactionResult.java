@@ -0,0 +1,10 @@
+package com.example.currencyrateservice.data.dto;
+
+public record CompactionResult(String table,
+                               boolean dryRun,
+                               long scannedRows,
+                               long redundantRows,
+                               long reclaimedBytes,
+                               long lastId,
+                               long elapsedMillis) {
+}
@@ -0,0 +1,4 @@
+package com.example.currencyrateservice.data.dto;
+
+public record ExportResult(String file, long bytes, long elapsedMillis) {
+}
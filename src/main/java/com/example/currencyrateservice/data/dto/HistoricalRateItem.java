@@ -0,0 +1,7 @@
+package com.example.currencyrateservice.data.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record HistoricalRateItem(String currency, BigDecimal rate, LocalDateTime createdAt) {
+}
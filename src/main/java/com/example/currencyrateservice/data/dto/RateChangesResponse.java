@@ -0,0 +1,11 @@
+package com.example.currencyrateservice.data.dto;
+
+import java.util.List;
+
+public record RateChangesResponse(String version,
+                                  boolean full,
+                                  List<CurrencyRateItem> fiat,
+                                  List<CurrencyRateItem> crypto,
+                                  List<String> removedFiat,
+                                  List<String> removedCrypto) {
+}
@@ -0,0 +1,15 @@
+package com.example.currencyrateservice.data.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record RateWindowStats(String currency,
+                              int count,
+                              BigDecimal min,
+                              BigDecimal max,
+                              BigDecimal average,
+                              BigDecimal last,
+                              BigDecimal change,
+                              BigDecimal lastChange,
+                              LocalDateTime lastAt) {
+}
@@ -0,0 +1,22 @@
+package com.example.currencyrateservice.data.mapper;
+
+import com.example.currencyrateservice.data.dto.AlertRuleDTO;
+import com.example.currencyrateservice.data.model.AlertRule;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+public class AlertRuleMapper {
+
+    public AlertRule toModel(AlertRuleDTO dto) {
+        return new AlertRule(dto.id(), dto.type(), dto.currency(), dto.kind(), dto.threshold(),
+                dto.windowSeconds(), dto.webhookUrl(), LocalDateTime.now());
+    }
+
+    public AlertRuleDTO toDto(AlertRule rule) {
+        return new AlertRuleDTO(rule.getId(), rule.getRateType(), rule.getCurrency(), rule.getKind(),
+                rule.getThreshold(), rule.getWindowSeconds(), rule.getWebhookUrl());
+    }
+
+}
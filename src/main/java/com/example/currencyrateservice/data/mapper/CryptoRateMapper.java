@@ -1,7 +1,9 @@
 package com.example.currencyrateservice.data.mapper;
 
+import com.example.currencyrateservice.cache.CurrencyDictionary;
 import com.example.currencyrateservice.data.dto.CryptoCurrencyRateDTO;
 import com.example.currencyrateservice.data.dto.CurrencyRateItem;
+import com.example.currencyrateservice.data.dto.HistoricalRateItem;
 import com.example.currencyrateservice.data.model.CryptoRate;
 import org.springframework.stereotype.Component;
 
@@ -10,12 +12,24 @@ import java.time.LocalDateTime;
 @Component
 public class CryptoRateMapper {
 
+    private final CurrencyDictionary currencyDictionary;
+
+    public CryptoRateMapper(CurrencyDictionary currencyDictionary) {
+        this.currencyDictionary = currencyDictionary;
+    }
+
     public CryptoRate toModel(CryptoCurrencyRateDTO item) {
-        return new CryptoRate(null, item.name(), item.value(), LocalDateTime.now());
+        return new CryptoRate(null, currencyDictionary.idOf(item.name()), item.value(), LocalDateTime.now());
     }
 
     public CurrencyRateItem toDto(CryptoRate cryptoRate) {
-        return new CurrencyRateItem(cryptoRate.getCurrency(), cryptoRate.getRate());
+        return new CurrencyRateItem(currencyDictionary.codeOf(cryptoRate.getCurrencyId()), cryptoRate.getRate());
+    }
+
+    public HistoricalRateItem toHistoricalDto(CryptoRate cryptoRate) {
+        return new HistoricalRateItem(
+                currencyDictionary.codeOf(cryptoRate.getCurrencyId()), cryptoRate.getRate(), cryptoRate.getCreatedAt()
+        );
     }
 
 }
@@ -1,6 +1,8 @@
 package com.example.currencyrateservice.data.mapper;
 
+import com.example.currencyrateservice.cache.CurrencyDictionary;
 import com.example.currencyrateservice.data.dto.CurrencyRateItem;
+import com.example.currencyrateservice.data.dto.HistoricalRateItem;
 import com.example.currencyrateservice.data.model.FiatRate;
 import org.springframework.stereotype.Component;
 
@@ -9,12 +11,24 @@ import java.time.LocalDateTime;
 @Component
 public class FiatRateMapper {
 
+    private final CurrencyDictionary currencyDictionary;
+
+    public FiatRateMapper(CurrencyDictionary currencyDictionary) {
+        this.currencyDictionary = currencyDictionary;
+    }
+
     public FiatRate toModel(CurrencyRateItem item) {
-        return new FiatRate(null, item.currency(), item.rate(), LocalDateTime.now());
+        return new FiatRate(null, currencyDictionary.idOf(item.currency()), item.rate(), LocalDateTime.now());
     }
 
     public CurrencyRateItem toDto(FiatRate fiatRate) {
-        return new CurrencyRateItem(fiatRate.getCurrency(), fiatRate.getRate());
+        return new CurrencyRateItem(currencyDictionary.codeOf(fiatRate.getCurrencyId()), fiatRate.getRate());
+    }
+
+    public HistoricalRateItem toHistoricalDto(FiatRate fiatRate) {
+        return new HistoricalRateItem(
+                currencyDictionary.codeOf(fiatRate.getCurrencyId()), fiatRate.getRate(), fiatRate.getCreatedAt()
+        );
     }
 
 }
@@ -0,0 +1,9 @@
+package com.example.currencyrateservice.data.model;
+
+public enum AlertKind {
+
+    CROSSES_ABOVE,
+    CROSSES_BELOW,
+    MOVES_PERCENT
+
+}
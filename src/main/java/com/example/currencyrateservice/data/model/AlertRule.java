@@ -0,0 +1,30 @@
+package com.example.currencyrateservice.data.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "alert_rule")
+public class AlertRule {
+
+    @Id
+    private Long id;
+    private RateType rateType;
+    private String currency;
+    private AlertKind kind;
+    private BigDecimal threshold;
+    private Integer windowSeconds;
+    private String webhookUrl;
+    private LocalDateTime createdAt;
+
+}
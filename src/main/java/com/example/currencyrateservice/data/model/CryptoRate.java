@@ -19,7 +19,7 @@ public class CryptoRate {
 
     @Id
     private Long id;
-    private String currency;
+    private Short currencyId;
     private BigDecimal rate;
     private LocalDateTime createdAt;
 
@@ -0,0 +1,21 @@
+package com.example.currencyrateservice.data.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "currency")
+public class Currency {
+
+    @Id
+    private Short id;
+    private String code;
+
+}
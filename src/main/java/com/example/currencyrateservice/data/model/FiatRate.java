@@ -19,7 +19,7 @@ public class FiatRate {
 
     @Id
     private Long id;
-    private String currency;
+    private Short currencyId;
     private BigDecimal rate;
     private LocalDateTime createdAt;
 
@@ -0,0 +1,15 @@
+package com.example.currencyrateservice.data.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum RateType {
+
+    FIAT("fiat_rate"),
+    CRYPTO("crypto_rate");
+
+    private final String table;
+
+}
@@ -0,0 +1,129 @@
+package com.example.currencyrateservice.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LONG_RTT_SMOOTHING = 0.02;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double RTT_TOLERANCE = 1.5;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final Duration retryAfter;
+    private final Counter accepted;
+    private final Counter servedStale;
+    private final Counter rejected;
+
+    private double limit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${admission.initial-limit:20}") int initialLimit,
+                                      @Value("${admission.min-limit:4}") int minLimit,
+                                      @Value("${admission.max-limit:200}") int maxLimit,
+                                      @Value("${admission.retry-after:PT1S}") Duration retryAfter) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.retryAfter = retryAfter;
+
+        Gauge.builder("currency.rates.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("currency.rates.limiter.in-flight", inFlight, AtomicInteger::get)
+                .description("Requests currently admitted")
+                .register(meterRegistry);
+        this.accepted = Counter.builder("currency.rates.limiter.requests").tag("outcome", "accepted").register(meterRegistry);
+        this.servedStale = Counter.builder("currency.rates.limiter.requests").tag("outcome", "stale").register(meterRegistry);
+        this.rejected = Counter.builder("currency.rates.limiter.requests").tag("outcome", "rejected").register(meterRegistry);
+    }
+
+    public <T> Mono<T> execute(Supplier<Mono<T>> call, Supplier<Optional<T>> staleFallback) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                Optional<T> stale = staleFallback.get();
+                if (stale.isPresent()) {
+                    servedStale.increment();
+                    return Mono.just(stale.get());
+                }
+                rejected.increment();
+                return Mono.error(new OverloadedException(retryAfter));
+            }
+            accepted.increment();
+            long startedAt = System.nanoTime();
+            AtomicBoolean released = new AtomicBoolean();
+            return call.get()
+                    .doOnSuccess(ignored -> release(released, System.nanoTime() - startedAt))
+                    .doOnError(e -> release(released, System.nanoTime() - startedAt))
+                    .doOnCancel(() -> release(released, -1));
+        });
+    }
+
+    public synchronized double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    boolean tryAcquire() {
+        int current = inFlight.incrementAndGet();
+        if (current > getLimit()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void release(AtomicBoolean released, long rttNanos) {
+        if (released.compareAndSet(false, true)) {
+            int inFlightAtCompletion = inFlight.getAndDecrement();
+            if (rttNanos > 0) {
+                onSample(rttNanos, inFlightAtCompletion);
+            }
+        }
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtCompletion) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos = longRttNanos * (1 - LONG_RTT_SMOOTHING) + rttNanos * LONG_RTT_SMOOTHING;
+        }
+
+        // Don't grow the limit while the service is not actually using it.
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rttNanos));
+        double queueSize = Math.sqrt(limit);
+        double newLimit = limit * gradient + queueSize;
+        newLimit = limit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+
+        // Drift the baseline down when latency recovers so a past spike doesn't pin it high.
+        if (longRttNanos > rttNanos * 2) {
+            longRttNanos = rttNanos;
+        }
+        log.trace("Concurrency limit {} (rtt {} ms, baseline {} ms)", limit, rttNanos / 1_000_000, longRttNanos / 1_000_000);
+    }
+
+}
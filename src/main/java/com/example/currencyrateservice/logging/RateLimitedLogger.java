@@ -0,0 +1,67 @@
+package com.example.currencyrateservice.logging;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+public class RateLimitedLogger {
+
+    private final Logger logger;
+    private final long intervalNanos;
+    private final AtomicLong nextAllowedAt;
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public RateLimitedLogger(Logger logger, Duration interval) {
+        this.logger = logger;
+        this.intervalNanos = interval.toNanos();
+        this.nextAllowedAt = new AtomicLong(System.nanoTime());
+    }
+
+    public void info(String message, Object... args) {
+        if (logger.isInfoEnabled() && tryAcquire()) {
+            log(logger::info, message, args);
+        }
+    }
+
+    public void warn(String message, Object... args) {
+        if (logger.isWarnEnabled() && tryAcquire()) {
+            log(logger::warn, message, args);
+        }
+    }
+
+    public void error(String message, Object... args) {
+        if (logger.isErrorEnabled() && tryAcquire()) {
+            log(logger::error, message, args);
+        }
+    }
+
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long allowedAt = nextAllowedAt.get();
+        if (now - allowedAt < 0 || !nextAllowedAt.compareAndSet(allowedAt, now + intervalNanos)) {
+            suppressed.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void log(BiConsumer<String, Object[]> sink, String message, Object[] args) {
+        long dropped = suppressed.getAndSet(0);
+        if (dropped == 0) {
+            sink.accept(message, args);
+            return;
+        }
+        Object[] extended = Arrays.copyOf(args, args.length + 1);
+        if (args.length > 0 && args[args.length - 1] instanceof Throwable throwable) {
+            extended[args.length - 1] = dropped;
+            extended[args.length] = throwable;
+        } else {
+            extended[args.length] = dropped;
+        }
+        sink.accept(message + " ({} similar messages suppressed)", extended);
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.example.currencyrateservice.polling;
+
+import com.example.currencyrateservice.data.dto.CurrencyRateItem;
+import com.example.currencyrateservice.service.CurrencyRateService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class AdaptiveRatePoller {
+
+    private final boolean enabled;
+    private final PolledEndpoint fiat;
+    private final PolledEndpoint crypto;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    public AdaptiveRatePoller(CurrencyRateService currencyRateService,
+                              MeterRegistry meterRegistry,
+                              @Value("${polling.enabled:false}") boolean enabled,
+                              @Value("${polling.target-move:0.001}") double targetMove,
+                              @Value("${polling.fiat.min-interval:PT30S}") Duration fiatMinInterval,
+                              @Value("${polling.fiat.max-interval:PT30M}") Duration fiatMaxInterval,
+                              @Value("${polling.crypto.min-interval:PT2S}") Duration cryptoMinInterval,
+                              @Value("${polling.crypto.max-interval:PT1M}") Duration cryptoMaxInterval) {
+        this.enabled = enabled;
+        this.fiat = new PolledEndpoint("fiat", currencyRateService::refreshFiatRates,
+                new PollingInterval(fiatMinInterval, fiatMaxInterval, targetMove), meterRegistry);
+        this.crypto = new PolledEndpoint("crypto", currencyRateService::refreshCryptoRates,
+                new PollingInterval(cryptoMinInterval, cryptoMaxInterval, targetMove), meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        subscriptions.add(schedule(fiat));
+        subscriptions.add(schedule(crypto));
+        log.info("Adaptive polling started for fiat and crypto rates");
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+    }
+
+    private Disposable schedule(PolledEndpoint endpoint) {
+        return Mono.defer(() -> poll(endpoint))
+                .then(Mono.defer(() -> Mono.delay(endpoint.interval.current())))
+                .repeat()
+                .subscribe();
+    }
+
+    private Mono<Void> poll(PolledEndpoint endpoint) {
+        return endpoint.refresh.get()
+                .doOnNext(rates -> {
+                    endpoint.changed.increment();
+                    endpoint.interval.onRates(rates);
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> {
+                    endpoint.unchanged.increment();
+                    endpoint.interval.onUnchanged();
+                }))
+                .doOnSuccess(ignored -> log.debug("Next {} poll in {}", endpoint.name, endpoint.interval.current()))
+                .onErrorResume(CallBudgetExhaustedException.class, e -> {
+                    endpoint.throttled.increment();
+                    log.debug("Upstream call budget exhausted, skipping {} poll", endpoint.name);
+                    return Mono.empty();
+                })
+                .onErrorResume(e -> {
+                    endpoint.failed.increment();
+                    endpoint.interval.onFailure();
+                    log.warn("Polling {} rates failed, next attempt in {}: {}",
+                            endpoint.name, endpoint.interval.current(), e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private static final class PolledEndpoint {
+
+        private final String name;
+        private final Supplier<Mono<List<CurrencyRateItem>>> refresh;
+        private final PollingInterval interval;
+        private final Counter changed;
+        private final Counter unchanged;
+        private final Counter failed;
+        private final Counter throttled;
+
+        private PolledEndpoint(String name,
+                               Supplier<Mono<List<CurrencyRateItem>>> refresh,
+                               PollingInterval interval,
+                               MeterRegistry meterRegistry) {
+            this.name = name;
+            this.refresh = refresh;
+            this.interval = interval;
+            Gauge.builder("currency.rates.polling.interval", interval, i -> i.current().toMillis() / 1000.0)
+                    .description("Current polling interval in seconds")
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+            this.changed = counter(meterRegistry, name, "changed");
+            this.unchanged = counter(meterRegistry, name, "unchanged");
+            this.failed = counter(meterRegistry, name, "failed");
+            this.throttled = counter(meterRegistry, name, "throttled");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String endpoint, String outcome) {
+            return Counter.builder("currency.rates.polling.polls")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+    }
+
+}
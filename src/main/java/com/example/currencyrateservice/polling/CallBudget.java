@@ -0,0 +1,56 @@
+package com.example.currencyrateservice.polling;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+public class CallBudget {
+
+    private static final CallBudget UNLIMITED = new CallBudget();
+
+    private final long windowNanos;
+    private final LongSupplier clock;
+    private final long[] callTimes;
+    private int next;
+    private int calls;
+
+    public CallBudget(int maxCallsPerMinute) {
+        this(maxCallsPerMinute, Duration.ofMinutes(1), System::nanoTime);
+    }
+
+    CallBudget(int maxCalls, Duration window, LongSupplier clock) {
+        if (maxCalls <= 0) {
+            throw new IllegalArgumentException("maxCalls must be positive");
+        }
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+        this.callTimes = new long[maxCalls];
+    }
+
+    private CallBudget() {
+        this.windowNanos = 0;
+        this.clock = System::nanoTime;
+        this.callTimes = null;
+    }
+
+    public static CallBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (callTimes == null) {
+            return true;
+        }
+        long now = clock.getAsLong();
+        if (calls == callTimes.length) {
+            if (now - callTimes[next] < windowNanos) {
+                return false;
+            }
+        } else {
+            calls++;
+        }
+        callTimes[next] = now;
+        next = (next + 1) % callTimes.length;
+        return true;
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.example.currencyrateservice.polling;
+
+public class CallBudgetExhaustedException extends RuntimeException {
+
+    public CallBudgetExhaustedException() {
+        super("Upstream call budget exhausted");
+    }
+
+}
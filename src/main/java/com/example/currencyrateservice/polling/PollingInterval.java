@@ -0,0 +1,78 @@
+package com.example.currencyrateservice.polling;
+
+import com.example.currencyrateservice.data.dto.CurrencyRateItem;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PollingInterval {
+
+    private static final double WIDEN_FACTOR = 1.5;
+    private static final double NARROW_FACTOR = 0.5;
+    private static final double FAILURE_FACTOR = 2.0;
+    private static final double QUIET_FRACTION = 0.25;
+
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final double targetMove;
+    private Map<String, BigDecimal> previousRates = Map.of();
+    private Duration current;
+
+    public PollingInterval(Duration minInterval, Duration maxInterval, double targetMove) {
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval;
+        this.targetMove = targetMove;
+        this.current = minInterval;
+    }
+
+    public synchronized Duration current() {
+        return current;
+    }
+
+    public synchronized void onRates(List<CurrencyRateItem> rates) {
+        Map<String, BigDecimal> latestRates = new HashMap<>(rates.size() * 2);
+        double maxMove = 0;
+        int changed = 0;
+        for (CurrencyRateItem item : rates) {
+            latestRates.put(item.currency(), item.rate());
+            BigDecimal previous = previousRates.get(item.currency());
+            if (previous == null || previous.signum() == 0 || previous.compareTo(item.rate()) == 0) {
+                continue;
+            }
+            double move = item.rate().subtract(previous).abs()
+                    .divide(previous.abs(), MathContext.DECIMAL64)
+                    .doubleValue();
+            maxMove = Math.max(maxMove, move);
+            changed++;
+        }
+        boolean firstObservation = previousRates.isEmpty();
+        previousRates = latestRates;
+
+        if (firstObservation) {
+            return;
+        }
+        if (changed == 0 || maxMove < targetMove * QUIET_FRACTION) {
+            scale(WIDEN_FACTOR);
+        } else if (maxMove >= targetMove) {
+            scale(NARROW_FACTOR);
+        }
+    }
+
+    public synchronized void onUnchanged() {
+        scale(WIDEN_FACTOR);
+    }
+
+    public synchronized void onFailure() {
+        scale(FAILURE_FACTOR);
+    }
+
+    private void scale(double factor) {
+        long nanos = (long) (current.toNanos() * factor);
+        current = Duration.ofNanos(Math.clamp(nanos, minInterval.toNanos(), maxInterval.toNanos()));
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.example.currencyrateservice.repository;
+
+import com.example.currencyrateservice.data.model.AlertRule;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+public interface AlertRuleRepository extends ReactiveCrudRepository<AlertRule, Long> {
+}
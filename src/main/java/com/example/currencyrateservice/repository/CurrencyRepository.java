@@ -0,0 +1,23 @@
+package com.example.currencyrateservice.repository;
+
+import com.example.currencyrateservice.data.model.Currency;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface CurrencyRepository extends ReactiveCrudRepository<Currency, Short> {
+
+    @Modifying
+    @Query("INSERT INTO currency (code) " +
+            "SELECT u.code FROM unnest(CAST(:codes AS VARCHAR[])) AS u(code) " +
+            "WHERE NOT EXISTS (SELECT 1 FROM currency c WHERE c.code = u.code) " +
+            "ON CONFLICT (code) DO NOTHING")
+    Mono<Integer> insertMissing(String[] codes);
+
+    Flux<Currency> findByCodeIn(Collection<String> codes);
+
+}
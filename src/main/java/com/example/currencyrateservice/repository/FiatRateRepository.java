@@ -4,12 +4,41 @@ import com.example.currencyrateservice.data.model.FiatRate;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
 
 public interface FiatRateRepository extends ReactiveCrudRepository<FiatRate, Long> {
 
-    @Query("SELECT DISTINCT ON (currency) id, currency, rate, created_at " +
+    @Query("SELECT DISTINCT ON (currency_id) id, currency_id, rate, created_at " +
             "FROM fiat_rate " +
-            "ORDER BY currency, created_at DESC")
+            "ORDER BY currency_id, created_at DESC")
     Flux<FiatRate> findLatestUnique();
 
+    @Query("SELECT currency_id, rate, created_at " +
+            "FROM fiat_rate " +
+            "WHERE currency_id = :currencyId AND created_at <= :asOf " +
+            "ORDER BY created_at DESC " +
+            "LIMIT 1")
+    Mono<FiatRate> findAsOf(short currencyId, LocalDateTime asOf);
+
+    @Query("SELECT r.currency_id, r.rate, r.created_at " +
+            "FROM unnest(CAST(:currencyIds AS SMALLINT[])) AS c(currency_id) " +
+            "CROSS JOIN LATERAL (" +
+            "SELECT t.currency_id, t.rate, t.created_at " +
+            "FROM fiat_rate t " +
+            "WHERE t.currency_id = c.currency_id AND t.created_at <= :asOf " +
+            "ORDER BY t.created_at DESC " +
+            "LIMIT 1) r")
+    Flux<FiatRate> findAllAsOf(Short[] currencyIds, LocalDateTime asOf);
+
+    @Query("SELECT r.id, r.currency_id, r.rate, r.created_at " +
+            "FROM currency c " +
+            "CROSS JOIN LATERAL (" +
+            "SELECT t.id, t.currency_id, t.rate, t.created_at " +
+            "FROM fiat_rate t " +
+            "WHERE t.currency_id = c.id AND t.created_at >= :since " +
+            "ORDER BY t.created_at) r")
+    Flux<FiatRate> findSincePerCurrency(LocalDateTime since);
+
 }
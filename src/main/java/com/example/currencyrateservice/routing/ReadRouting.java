@@ -0,0 +1,21 @@
+package com.example.currencyrateservice.routing;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public final class ReadRouting {
+
+    static final String READ_ONLY_KEY = ReadRouting.class.getName() + ".readOnly";
+
+    private ReadRouting() {
+    }
+
+    public static <T> Flux<T> onReplica(Flux<T> query) {
+        return query.contextWrite(context -> context.put(READ_ONLY_KEY, Boolean.TRUE));
+    }
+
+    public static <T> Mono<T> onReplica(Mono<T> query) {
+        return query.contextWrite(context -> context.put(READ_ONLY_KEY, Boolean.TRUE));
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.example.currencyrateservice.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_QUERY =
+            "SELECT CAST(CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN 'Infinity' " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END AS DOUBLE PRECISION) AS lag_seconds";
+
+    private final ConnectionFactory replica;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean replicaUsable;
+    private Disposable subscription;
+
+    public ReplicaLagMonitor(ConnectionFactory replica, Duration maxLag, Duration checkInterval, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        Gauge.builder("r2dbc.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replication lag of the read replica in seconds")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("r2dbc.replica.usable", this, monitor -> monitor.replicaUsable ? 1 : 0)
+                .description("Whether read-only queries are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = Flux.interval(Duration.ZERO, checkInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> measureLag()
+                        .doOnNext(this::onLagSample)
+                        .onErrorResume(e -> {
+                            onLagUnavailable(e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    void onLagSample(double seconds) {
+        lagSeconds = seconds;
+        boolean usable = seconds <= maxLag.toMillis() / 1000.0;
+        if (usable != replicaUsable) {
+            log.info("Read replica {} (lag {} s, max {})", usable ? "in use" : "bypassed", seconds, maxLag);
+        }
+        replicaUsable = usable;
+    }
+
+    void onLagUnavailable(Throwable e) {
+        lagSeconds = Double.NaN;
+        if (replicaUsable) {
+            log.warn("Read replica bypassed, lag check failed: {}", e.getMessage());
+        }
+        replicaUsable = false;
+    }
+
+    private Mono<Double> measureLag() {
+        return Mono.usingWhen(
+                replica.create(),
+                connection -> Mono.from(connection.createStatement(LAG_QUERY).execute())
+                        .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get("lag_seconds", Double.class)))),
+                Connection::close
+        ).timeout(checkInterval);
+    }
+
+}
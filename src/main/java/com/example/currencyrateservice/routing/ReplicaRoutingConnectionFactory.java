@@ -0,0 +1,31 @@
+package com.example.currencyrateservice.routing;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class ReplicaRoutingConnectionFactory extends AbstractRoutingConnectionFactory {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingConnectionFactory(ConnectionFactory primary, ConnectionFactory replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetConnectionFactories(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetConnectionFactory(primary);
+        setLenientFallback(true);
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> {
+            boolean readOnly = context.getOrDefault(ReadRouting.READ_ONLY_KEY, Boolean.FALSE);
+            return Mono.just(readOnly && lagMonitor.isReplicaUsable() ? REPLICA : PRIMARY);
+        });
+    }
+
+}
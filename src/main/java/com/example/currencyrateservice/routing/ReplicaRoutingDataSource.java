@@ -0,0 +1,24 @@
+package com.example.currencyrateservice.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(ReplicaRoutingConnectionFactory.PRIMARY, primary,
+                ReplicaRoutingConnectionFactory.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return lagMonitor.isReplicaUsable() ? ReplicaRoutingConnectionFactory.REPLICA : ReplicaRoutingConnectionFactory.PRIMARY;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.currencyrateservice.service;
+
+import com.example.currencyrateservice.data.dto.AlertRuleDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface AlertRuleService {
+
+    Mono<AlertRuleDTO> create(AlertRuleDTO rule);
+
+    Flux<AlertRuleDTO> findAll();
+
+    Mono<AlertRuleDTO> findById(Long id);
+
+    Mono<AlertRuleDTO> update(Long id, AlertRuleDTO rule);
+
+    Mono<Boolean> delete(Long id);
+
+}
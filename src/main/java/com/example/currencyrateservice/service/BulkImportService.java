@@ -0,0 +1,18 @@
+package com.example.currencyrateservice.service;
+
+import com.example.currencyrateservice.data.dto.BulkImportFormat;
+import com.example.currencyrateservice.data.dto.BulkImportResult;
+import com.example.currencyrateservice.data.model.RateType;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface BulkImportService {
+
+    Mono<BulkImportResult> importRates(RateType type,
+                                       BulkImportFormat format,
+                                       Flux<DataBuffer> body,
+                                       boolean skipHeader,
+                                       boolean deferIndexes);
+
+}
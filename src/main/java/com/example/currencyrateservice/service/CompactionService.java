@@ -0,0 +1,11 @@
+package com.example.currencyrateservice.service;
+
+import com.example.currencyrateservice.data.dto.CompactionResult;
+import com.example.currencyrateservice.data.model.RateType;
+import reactor.core.publisher.Mono;
+
+public interface CompactionService {
+
+    Mono<CompactionResult> compact(RateType type, boolean dryRun);
+
+}
@@ -1,10 +1,19 @@
 package com.example.currencyrateservice.service;
 
+import com.example.currencyrateservice.data.dto.CurrencyRateItem;
 import com.example.currencyrateservice.data.dto.CurrencyRateResponse;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface CurrencyRateService {
 
     Mono<CurrencyRateResponse> getCurrencyRates();
 
+    Mono<CurrencyRateResponse> loadLatestSnapshot();
+
+    Mono<List<CurrencyRateItem>> refreshFiatRates();
+
+    Mono<List<CurrencyRateItem>> refreshCryptoRates();
+
 }
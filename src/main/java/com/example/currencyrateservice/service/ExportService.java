@@ -0,0 +1,17 @@
+package com.example.currencyrateservice.service;
+
+import com.example.currencyrateservice.data.dto.ExportResult;
+import com.example.currencyrateservice.data.model.RateType;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface ExportService {
+
+    Flux<DataBuffer> exportRates(RateType type, LocalDateTime from, LocalDateTime to, boolean gzip);
+
+    Mono<ExportResult> exportRatesToFile(RateType type, LocalDateTime from, LocalDateTime to, boolean gzip);
+
+}
@@ -2,13 +2,13 @@ package com.example.currencyrateservice.service;
 
 import com.example.currencyrateservice.data.dto.CryptoCurrencyRateDTO;
 import com.example.currencyrateservice.data.dto.CurrencyRateItem;
-import reactor.core.publisher.Mono;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
 public interface ExternalCurrencyClient {
 
-    Mono<List<CurrencyRateItem>> getExternalFiatRates();
-    Mono<List<CryptoCurrencyRateDTO>> getExternalCryptoRates();
+    Flux<List<CurrencyRateItem>> getExternalFiatRates();
+    Flux<List<CryptoCurrencyRateDTO>> getExternalCryptoRates();
 
 }
@@ -0,0 +1,20 @@
+package com.example.currencyrateservice.service;
+
+import com.example.currencyrateservice.data.dto.HistoricalRateItem;
+import com.example.currencyrateservice.data.dto.RateWindowStats;
+import com.example.currencyrateservice.data.model.RateType;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RateHistoryService {
+
+    Mono<List<HistoricalRateItem>> getRatesAsOf(RateType type, List<String> currencies, LocalDateTime asOf);
+
+    Mono<List<HistoricalRateItem>> getRecentRates(RateType type, String currency, Duration window);
+
+    Mono<RateWindowStats> getRecentStats(RateType type, String currency, Duration window);
+
+}
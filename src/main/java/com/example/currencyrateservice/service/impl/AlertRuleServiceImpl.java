@@ -0,0 +1,116 @@
+package com.example.currencyrateservice.service.impl;
+
+import com.example.currencyrateservice.alert.AlertRuleIndex;
+import com.example.currencyrateservice.data.dto.AlertRuleDTO;
+import com.example.currencyrateservice.data.mapper.AlertRuleMapper;
+import com.example.currencyrateservice.data.model.AlertKind;
+import com.example.currencyrateservice.data.model.AlertRule;
+import com.example.currencyrateservice.repository.AlertRuleRepository;
+import com.example.currencyrateservice.service.AlertRuleService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+@Slf4j
+@Service
+public class AlertRuleServiceImpl implements AlertRuleService {
+
+    private final AlertRuleRepository alertRuleRepository;
+    private final AlertRuleMapper alertRuleMapper;
+    private final AlertRuleIndex alertRuleIndex;
+
+    public AlertRuleServiceImpl(AlertRuleRepository alertRuleRepository,
+                                AlertRuleMapper alertRuleMapper,
+                                AlertRuleIndex alertRuleIndex) {
+        this.alertRuleRepository = alertRuleRepository;
+        this.alertRuleMapper = alertRuleMapper;
+        this.alertRuleIndex = alertRuleIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRules() {
+        alertRuleRepository.findAll()
+                .doOnNext(alertRuleIndex::add)
+                .count()
+                .subscribe(
+                        count -> log.info("Indexed {} alert rules", count),
+                        e -> log.warn("Could not load alert rules: {}", e.getMessage()));
+    }
+
+    @Override
+    public Mono<AlertRuleDTO> create(AlertRuleDTO rule) {
+        return Mono.fromCallable(() -> alertRuleMapper.toModel(validate(rule)))
+                .doOnNext(model -> model.setId(null))
+                .flatMap(alertRuleRepository::save)
+                .doOnNext(alertRuleIndex::add)
+                .map(alertRuleMapper::toDto);
+    }
+
+    @Override
+    public Flux<AlertRuleDTO> findAll() {
+        return alertRuleRepository.findAll().map(alertRuleMapper::toDto);
+    }
+
+    @Override
+    public Mono<AlertRuleDTO> findById(Long id) {
+        return alertRuleRepository.findById(id).map(alertRuleMapper::toDto);
+    }
+
+    @Override
+    public Mono<AlertRuleDTO> update(Long id, AlertRuleDTO rule) {
+        return Mono.fromCallable(() -> validate(rule))
+                .flatMap(valid -> alertRuleRepository.findById(id)
+                        .map(existing -> {
+                            AlertRule updated = alertRuleMapper.toModel(valid);
+                            updated.setId(existing.getId());
+                            updated.setCreatedAt(existing.getCreatedAt());
+                            return updated;
+                        }))
+                .flatMap(alertRuleRepository::save)
+                .doOnNext(alertRuleIndex::add)
+                .map(alertRuleMapper::toDto);
+    }
+
+    @Override
+    public Mono<Boolean> delete(Long id) {
+        return alertRuleRepository.findById(id)
+                .flatMap(existing -> alertRuleRepository.delete(existing)
+                        .doOnSuccess(ignored -> alertRuleIndex.remove(id))
+                        .thenReturn(true))
+                .defaultIfEmpty(false);
+    }
+
+    private AlertRuleDTO validate(AlertRuleDTO rule) {
+        if (rule.type() == null || rule.kind() == null || rule.threshold() == null) {
+            throw new IllegalArgumentException("type, kind and threshold are required");
+        }
+        if (rule.currency() == null || rule.currency().isBlank()) {
+            throw new IllegalArgumentException("currency is required");
+        }
+        if (rule.threshold().signum() <= 0) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        if (rule.kind() == AlertKind.MOVES_PERCENT && (rule.windowSeconds() == null || rule.windowSeconds() <= 0)) {
+            throw new IllegalArgumentException("windowSeconds is required for MOVES_PERCENT rules");
+        }
+        if (rule.webhookUrl() == null || !isHttpUrl(rule.webhookUrl())) {
+            throw new IllegalArgumentException("webhookUrl must be an absolute http(s) URL");
+        }
+        return rule;
+    }
+
+    private static boolean isHttpUrl(String value) {
+        try {
+            URI uri = URI.create(value);
+            return uri.getHost() != null && ("http".equals(uri.getScheme()) || "https".equals(uri.getScheme()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,254 @@
+package com.example.currencyrateservice.service.impl;
+
+import com.example.currencyrateservice.cache.CurrencyDictionary;
+import com.example.currencyrateservice.data.dto.BulkImportFormat;
+import com.example.currencyrateservice.data.dto.BulkImportResult;
+import com.example.currencyrateservice.data.dto.BulkRateRecord;
+import com.example.currencyrateservice.data.model.RateType;
+import com.example.currencyrateservice.service.BulkImportService;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class BulkImportServiceImpl implements BulkImportService {
+
+    private static final String SECONDARY_INDEXES_QUERY =
+            "SELECT i.relname AS name, pg_get_indexdef(i.oid) AS definition " +
+            "FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid " +
+            "WHERE x.indrelid = $1::regclass AND NOT x.indisprimary AND NOT x.indisunique";
+
+    private final ConnectionFactory connectionFactory;
+    private final JsonMapper jsonMapper;
+    private final CurrencyDictionary currencyDictionary;
+    private final StringDecoder lineDecoder = StringDecoder.allMimeTypes();
+    private final int chunkRows;
+    private final boolean offlineIndexDeferral;
+
+    public BulkImportServiceImpl(ConnectionFactory connectionFactory,
+                                 JsonMapper jsonMapper,
+                                 CurrencyDictionary currencyDictionary,
+                                 @Value("${bulk-import.chunk-rows:50000}") int chunkRows,
+                                 @Value("${bulk-import.offline-index-deferral:false}") boolean offlineIndexDeferral) {
+        this.connectionFactory = connectionFactory;
+        this.jsonMapper = jsonMapper;
+        this.currencyDictionary = currencyDictionary;
+        this.chunkRows = chunkRows;
+        this.offlineIndexDeferral = offlineIndexDeferral;
+    }
+
+    @Override
+    public Mono<BulkImportResult> importRates(RateType type,
+                                              BulkImportFormat format,
+                                              Flux<DataBuffer> body,
+                                              boolean skipHeader,
+                                              boolean deferIndexes) {
+        if (deferIndexes && !offlineIndexDeferral) {
+            return Mono.error(new IllegalArgumentException(
+                    "deferIndexes is only allowed with bulk-import.offline-index-deferral=true"));
+        }
+        String copySql = "COPY " + type.getTable() + " (currency_id, rate, created_at) FROM STDIN WITH (FORMAT csv)";
+        AtomicLong lineNumber = new AtomicLong();
+
+        Flux<BulkRateRow> rows = lineDecoder.decode(body, ResolvableType.forClass(String.class), null, null)
+                .doOnNext(line -> lineNumber.incrementAndGet())
+                .skip(format == BulkImportFormat.CSV && skipHeader ? 1 : 0)
+                .filter(line -> !line.isBlank())
+                .map(line -> parseRow(format, line, lineNumber.get()));
+
+        Mono<List<String>> deferredIndexes = deferIndexes
+                ? withConnection(connection -> dropSecondaryIndexes(connection, type))
+                : Mono.just(List.of());
+
+        return Mono.usingWhen(
+                deferredIndexes,
+                indexDefinitions -> withConnection(connection -> inTransaction(connection,
+                        () -> copyInChunks(connection, type, copySql, rows))),
+                this::recreateIndexes,
+                (indexDefinitions, e) -> recreateIndexes(indexDefinitions),
+                indexDefinitions -> recreateIndexes(indexDefinitions)
+                        .doOnSubscribe(subscription -> log.warn("Bulk import into {} cancelled", type.getTable()))
+        );
+    }
+
+    private Mono<BulkImportResult> copyInChunks(PostgresqlConnection connection,
+                                                RateType type,
+                                                String copySql,
+                                                Flux<BulkRateRow> rows) {
+        AtomicLong imported = new AtomicLong();
+        long startedAt = System.nanoTime();
+
+        return rows
+                .buffer(chunkRows)
+                .concatMap(chunk -> currencyDictionary.register(chunk.stream().map(BulkRateRow::currency).toList())
+                        .then(connection.copyIn(copySql, Mono.fromSupplier(() -> encode(chunk)))))
+                .doOnNext(copied -> log.info("Imported {} {} rows ({} rows/s)",
+                        imported.addAndGet(copied), type.getTable(), rowsPerSecond(imported.get(), startedAt)))
+                .then(Mono.fromSupplier(() -> buildResult(type, imported.get(), startedAt)))
+                .doOnSuccess(result -> log.info("Bulk import into {} finished: {} rows in {} ms ({} rows/s)",
+                        result.table(), result.rows(), result.elapsedMillis(), result.rowsPerSecond()))
+                .doOnError(e -> log.error("Bulk import into {} failed after {} rows, rolling back: {}",
+                        type.getTable(), imported.get(), e.getMessage()));
+    }
+
+    private <T> Mono<T> inTransaction(PostgresqlConnection connection, Supplier<Mono<T>> work) {
+        return Mono.usingWhen(
+                connection.beginTransaction().thenReturn(connection),
+                ignored -> work.get(),
+                PostgresqlConnection::commitTransaction,
+                (ignored, e) -> connection.rollbackTransaction(),
+                PostgresqlConnection::rollbackTransaction
+        );
+    }
+
+    private <T> Mono<T> withConnection(Function<PostgresqlConnection, Mono<T>> work) {
+        return Mono.usingWhen(
+                connectionFactory.create(),
+                connection -> work.apply(unwrap(connection)),
+                Connection::close
+        );
+    }
+
+    private Mono<List<String>> dropSecondaryIndexes(PostgresqlConnection connection, RateType type) {
+        return Flux.from(connection.createStatement(SECONDARY_INDEXES_QUERY)
+                        .bind("$1", type.getTable())
+                        .execute())
+                .flatMap(result -> result.map((row, metadata) -> new String[]{
+                        row.get("name", String.class), row.get("definition", String.class)
+                }))
+                .concatMap(index -> Flux.from(connection.createStatement("DROP INDEX CONCURRENTLY IF EXISTS " + index[0]).execute())
+                        .flatMap(result -> result.getRowsUpdated())
+                        .then(Mono.just(index[1])))
+                .collectList()
+                .doOnNext(definitions -> log.info("Deferred {} index builds on {}", definitions.size(), type.getTable()));
+    }
+
+    private Mono<Void> recreateIndexes(List<String> indexDefinitions) {
+        if (indexDefinitions.isEmpty()) {
+            return Mono.empty();
+        }
+        return withConnection(connection -> Flux.fromIterable(indexDefinitions)
+                .doOnNext(definition -> log.info("Rebuilding index: {}", definition))
+                .concatMap(definition -> Flux.from(connection.createStatement(concurrently(definition)).execute())
+                        .flatMap(result -> result.getRowsUpdated()))
+                .then())
+                .doOnError(e -> log.error("Could not rebuild deferred indexes {}: {}", indexDefinitions, e.getMessage()));
+    }
+
+    static String concurrently(String indexDefinition) {
+        return indexDefinition.replaceFirst("^CREATE INDEX ", "CREATE INDEX CONCURRENTLY ");
+    }
+
+    private BulkRateRow parseRow(BulkImportFormat format, String line, long lineNumber) {
+        if (format == BulkImportFormat.NDJSON) {
+            try {
+                BulkRateRecord rateRecord = jsonMapper.readValue(line, BulkRateRecord.class);
+                if (rateRecord.currency() == null || rateRecord.rate() == null || rateRecord.createdAt() == null) {
+                    throw new IllegalArgumentException("Incomplete record at line " + lineNumber);
+                }
+                return new BulkRateRow(rateRecord.currency(), rateRecord.rate().toPlainString(),
+                        rateRecord.createdAt().toString());
+            } catch (JacksonException e) {
+                throw new IllegalArgumentException("Malformed JSON at line " + lineNumber, e);
+            }
+        }
+        List<String> fields = splitCsv(line, lineNumber);
+        if (fields.size() != 3 || fields.get(0).isBlank() || fields.get(1).isBlank() || fields.get(2).isBlank()) {
+            throw new IllegalArgumentException("Expected 'currency,rate,created_at' at line " + lineNumber);
+        }
+        return new BulkRateRow(fields.get(0).strip(), fields.get(1).strip(), fields.get(2).strip());
+    }
+
+    static List<String> splitCsv(String line, long lineNumber) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.toString().isBlank()) {
+                field.setLength(0);
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field at line " + lineNumber);
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private ByteBuf encode(List<BulkRateRow> chunk) {
+        StringBuilder builder = new StringBuilder(chunk.size() * 40);
+        for (BulkRateRow row : chunk) {
+            builder.append(currencyDictionary.idOf(row.currency())).append(',');
+            appendQuoted(builder, row.rate()).append(',');
+            appendQuoted(builder, row.createdAt()).append('\n');
+        }
+        return Unpooled.wrappedBuffer(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder builder, String value) {
+        return builder.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private PostgresqlConnection unwrap(Connection connection) {
+        Object current = connection;
+        while (!(current instanceof PostgresqlConnection) && current instanceof Wrapped<?> wrapped) {
+            current = wrapped.unwrap();
+        }
+        if (current instanceof PostgresqlConnection postgresqlConnection) {
+            return postgresqlConnection;
+        }
+        throw new IllegalStateException("Bulk import requires a PostgreSQL connection");
+    }
+
+    private BulkImportResult buildResult(RateType type, long rows, long startedAt) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        return new BulkImportResult(type.getTable(), rows, elapsedMillis, rowsPerSecond(rows, startedAt));
+    }
+
+    private long rowsPerSecond(long rows, long startedAt) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startedAt);
+        return rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    private record BulkRateRow(String currency, String rate, String createdAt) {
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.example.currencyrateservice.service.impl;
+
+import com.example.currencyrateservice.data.dto.CompactionResult;
+import com.example.currencyrateservice.data.model.RateType;
+import com.example.currencyrateservice.service.CompactionService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class CompactionServiceImpl implements CompactionService {
+
+    private static final String REDUNDANT_ROWS =
+            "WITH chunk AS (SELECT currency_id, created_at FROM %1$s WHERE id > :fromId AND id <= :toId), " +
+            "bounds AS (SELECT currency_id, min(created_at) AS first_at, max(created_at) AS last_at " +
+            "           FROM chunk GROUP BY currency_id), " +
+            "span AS (SELECT r.id, r.currency_id, r.rate, r.created_at FROM bounds b " +
+            "         JOIN %1$s r ON r.currency_id = b.currency_id AND r.created_at BETWEEN b.first_at AND b.last_at " +
+            "         UNION ALL " +
+            "         SELECT s.id, s.currency_id, s.rate, s.created_at FROM bounds b " +
+            "         CROSS JOIN LATERAL (SELECT p.id, p.currency_id, p.rate, p.created_at FROM %1$s p " +
+            "                             WHERE p.currency_id = b.currency_id AND p.created_at < b.first_at " +
+            "                             ORDER BY p.created_at DESC, p.id DESC LIMIT 1) s), " +
+            "ordered AS (SELECT id, rate, " +
+            "            lag(rate) OVER (PARTITION BY currency_id ORDER BY created_at, id) AS previous_rate FROM span) " +
+            "SELECT o.id FROM ordered o " +
+            "WHERE o.id > :fromId AND o.id <= :toId AND o.rate = o.previous_rate";
+
+    private final DatabaseClient databaseClient;
+    private final boolean enabled;
+    private final Duration interval;
+    private final int chunkRows;
+    private final Duration pause;
+    private final Map<RateType, AtomicBoolean> running = new EnumMap<>(RateType.class);
+    private Disposable schedule;
+
+    public CompactionServiceImpl(DatabaseClient databaseClient,
+                                 @Value("${compaction.enabled:false}") boolean enabled,
+                                 @Value("${compaction.interval:PT6H}") Duration interval,
+                                 @Value("${compaction.chunk-rows:5000}") int chunkRows,
+                                 @Value("${compaction.pause:PT0.2S}") Duration pause) {
+        this.databaseClient = databaseClient;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.chunkRows = chunkRows;
+        this.pause = pause;
+        for (RateType type : RateType.values()) {
+            running.put(type, new AtomicBoolean());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        schedule = Flux.interval(interval, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> Flux.fromArray(RateType.values())
+                        .concatMap(type -> compact(type, false)
+                                .onErrorResume(e -> {
+                                    log.warn("Compaction of {} failed: {}", type.getTable(), e.getMessage());
+                                    return Mono.empty();
+                                })))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    @Override
+    public Mono<CompactionResult> compact(RateType type, boolean dryRun) {
+        return Mono.defer(() -> {
+            AtomicBoolean guard = running.get(type);
+            if (!guard.compareAndSet(false, true)) {
+                return Mono.error(new IllegalStateException("Compaction of " + type.getTable() + " is already running"));
+            }
+            long startedAt = System.nanoTime();
+            return Mono.zip(loadCheckpoint(type), maxId(type))
+                    .flatMap(bounds -> compactChunks(type, dryRun, bounds.getT1(), bounds.getT2(),
+                            new Progress(0, 0, 0, bounds.getT1())))
+                    .map(progress -> new CompactionResult(type.getTable(), dryRun, progress.scanned(),
+                            progress.redundant(), progress.bytes(), progress.lastId(),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)))
+                    .doOnSuccess(result -> log.info("Compaction of {} (dryRun={}): scanned {} rows, {} redundant rows, {} bytes in {} ms",
+                            result.table(), dryRun, result.scannedRows(), result.redundantRows(),
+                            result.reclaimedBytes(), result.elapsedMillis()))
+                    .doFinally(signal -> guard.set(false));
+        });
+    }
+
+    private Mono<Progress> compactChunks(RateType type, boolean dryRun, long fromId, long maxId, Progress progress) {
+        if (fromId >= maxId) {
+            return Mono.just(progress);
+        }
+        return chunkEnd(type, fromId, maxId)
+                .flatMap(chunk -> compactChunk(type, dryRun, fromId, chunk.toId())
+                        .flatMap(removed -> {
+                            Progress next = new Progress(progress.scanned() + chunk.rows(),
+                                    progress.redundant() + removed.rows(), progress.bytes() + removed.bytes(), chunk.toId());
+                            Mono<Void> checkpoint = dryRun ? Mono.empty() : saveCheckpoint(type, chunk.toId());
+                            return checkpoint
+                                    .then(Mono.delay(pause))
+                                    .then(Mono.defer(() -> compactChunks(type, dryRun, chunk.toId(), maxId, next)));
+                        }))
+                .defaultIfEmpty(progress);
+    }
+
+    private Mono<Chunk> chunkEnd(RateType type, long fromId, long maxId) {
+        return databaseClient.sql("SELECT max(id) AS to_id, count(*) AS row_count FROM " +
+                        "(SELECT id FROM " + type.getTable() + " WHERE id > :fromId AND id <= :maxId ORDER BY id LIMIT :limit) c")
+                .bind("fromId", fromId)
+                .bind("maxId", maxId)
+                .bind("limit", chunkRows)
+                .map(row -> new Chunk(row.get("to_id", Long.class), row.get("row_count", Long.class)))
+                .one()
+                .filter(chunk -> chunk.toId() != null);
+    }
+
+    private Mono<Removed> compactChunk(RateType type, boolean dryRun, long fromId, long toId) {
+        String redundant = REDUNDANT_ROWS.formatted(type.getTable());
+        String sql = dryRun
+                ? "SELECT count(*) AS row_count, coalesce(sum(pg_column_size(t.*)), 0) AS bytes " +
+                  "FROM " + type.getTable() + " t WHERE t.id IN (" + redundant + ")"
+                : "WITH deleted AS (DELETE FROM " + type.getTable() + " t WHERE t.id IN (" + redundant + ") " +
+                  "RETURNING pg_column_size(t.*) AS size) " +
+                  "SELECT count(*) AS row_count, coalesce(sum(size), 0) AS bytes FROM deleted";
+        return databaseClient.sql(sql)
+                .bind("fromId", fromId)
+                .bind("toId", toId)
+                .map(row -> new Removed(row.get("row_count", Long.class), row.get("bytes", Long.class)))
+                .one();
+    }
+
+    private Mono<Long> loadCheckpoint(RateType type) {
+        return databaseClient.sql("SELECT last_id FROM compaction_checkpoint WHERE table_name = :table")
+                .bind("table", type.getTable())
+                .map(row -> row.get("last_id", Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+
+    private Mono<Long> maxId(RateType type) {
+        return databaseClient.sql("SELECT coalesce(max(id), 0) AS max_id FROM " + type.getTable())
+                .map(row -> row.get("max_id", Long.class))
+                .one();
+    }
+
+    private Mono<Void> saveCheckpoint(RateType type, long lastId) {
+        return databaseClient.sql("INSERT INTO compaction_checkpoint (table_name, last_id, updated_at) " +
+                        "VALUES (:table, :lastId, now()) " +
+                        "ON CONFLICT (table_name) DO UPDATE SET last_id = EXCLUDED.last_id, updated_at = EXCLUDED.updated_at")
+                .bind("table", type.getTable())
+                .bind("lastId", lastId)
+                .then();
+    }
+
+    private record Progress(long scanned, long redundant, long bytes, long lastId) {
+    }
+
+    private record Chunk(Long toId, Long rows) {
+    }
+
+    private record Removed(long rows, long bytes) {
+    }
+
+}
@@ -1,5 +1,9 @@
 package com.example.currencyrateservice.service.impl;
 
+import com.example.currencyrateservice.alert.AlertRuleIndex;
+import com.example.currencyrateservice.cache.CurrencyDictionary;
+import com.example.currencyrateservice.cache.LatestRatesCache;
+import com.example.currencyrateservice.cache.RecentTickStore;
 import com.example.currencyrateservice.data.dto.CryptoCurrencyRateDTO;
 import com.example.currencyrateservice.data.dto.CurrencyRateItem;
 import com.example.currencyrateservice.data.dto.CurrencyRateResponse;
@@ -7,45 +11,89 @@ import com.example.currencyrateservice.data.mapper.CryptoRateMapper;
 import com.example.currencyrateservice.data.mapper.FiatRateMapper;
 import com.example.currencyrateservice.data.model.CryptoRate;
 import com.example.currencyrateservice.data.model.FiatRate;
-import com.example.currencyrateservice.repository.CryptoRateRepository;
-import com.example.currencyrateservice.repository.FiatRateRepository;
+import com.example.currencyrateservice.data.model.RateType;
+import com.example.currencyrateservice.logging.RateLimitedLogger;
 import com.example.currencyrateservice.service.CurrencyRateService;
+import com.example.currencyrateservice.service.ExternalCurrencyClient;
+import com.example.currencyrateservice.store.RateStore;
+import com.example.currencyrateservice.tracing.RequestTiming;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.function.Tuple2;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 
 @Slf4j
 @Service
 public class CurrencyRateServiceImpl implements CurrencyRateService {
 
-    private final ExternalCurrencyClientImpl externalClient;
-    private final FiatRateRepository fiatRepository;
-    private final CryptoRateRepository cryptoRepository;
+    private final ExternalCurrencyClient externalClient;
+    private final RateStore rateStore;
     private final FiatRateMapper fiatMapper;
     private final CryptoRateMapper cryptoMapper;
+    private final RecentTickStore tickStore;
+    private final CurrencyDictionary currencyDictionary;
+    private final LatestRatesCache latestRatesCache;
+    private final AlertRuleIndex alertRuleIndex;
+    private final boolean pollingEnabled;
+    private final RateLimitedLogger fiatFallbackLog = new RateLimitedLogger(log, Duration.ofSeconds(10));
+    private final RateLimitedLogger cryptoFallbackLog = new RateLimitedLogger(log, Duration.ofSeconds(10));
 
-    public CurrencyRateServiceImpl(FiatRateRepository fiatRepository,
-                                   CryptoRateRepository cryptoRepository,
-                                   ExternalCurrencyClientImpl externalClient,
+    public CurrencyRateServiceImpl(RateStore rateStore,
+                                   ExternalCurrencyClient externalClient,
                                    FiatRateMapper fiatMapper,
-                                   CryptoRateMapper cryptoMapper) {
-        this.fiatRepository = fiatRepository;
-        this.cryptoRepository = cryptoRepository;
+                                   CryptoRateMapper cryptoMapper,
+                                   RecentTickStore tickStore,
+                                   CurrencyDictionary currencyDictionary,
+                                   LatestRatesCache latestRatesCache,
+                                   AlertRuleIndex alertRuleIndex,
+                                   @Value("${polling.enabled:false}") boolean pollingEnabled) {
+        this.rateStore = rateStore;
         this.externalClient = externalClient;
         this.fiatMapper = fiatMapper;
         this.cryptoMapper = cryptoMapper;
+        this.tickStore = tickStore;
+        this.currencyDictionary = currencyDictionary;
+        this.latestRatesCache = latestRatesCache;
+        this.alertRuleIndex = alertRuleIndex;
+        this.pollingEnabled = pollingEnabled;
     }
 
     @Override
     public Mono<CurrencyRateResponse> getCurrencyRates() {
+        if (pollingEnabled) {
+            return Mono.justOrEmpty(latestRatesCache.get())
+                    .switchIfEmpty(Mono.defer(this::loadLatestSnapshot));
+        }
         return Mono.zip(getAndSaveFiatRates(), getAndSaveCryptoRates())
-                .doFirst(() -> log.info("Starting to fetch and save rates"))
-                .doOnSuccess(tuple -> log.info("Finished fetching and saving rates"))
-                .map(this::buildCurrencyRateResponse);
+                .doFirst(() -> log.debug("Starting to fetch and save rates"))
+                .doOnSuccess(tuple -> log.debug("Finished fetching and saving rates"))
+                .map(this::buildCurrencyRateResponse)
+                .doOnNext(latestRatesCache::update);
+    }
+
+    @Override
+    public Mono<CurrencyRateResponse> loadLatestSnapshot() {
+        return Mono.zip(fallbackFiatRates(), fallbackCryptoRates())
+                .map(this::buildCurrencyRateResponse)
+                .doOnNext(latestRatesCache::update);
+    }
+
+    @Override
+    public Mono<List<CurrencyRateItem>> refreshFiatRates() {
+        return ingestFiatRates()
+                .doOnNext(latestRatesCache::updateFiat);
+    }
+
+    @Override
+    public Mono<List<CurrencyRateItem>> refreshCryptoRates() {
+        return ingestCryptoRates()
+                .doOnNext(latestRatesCache::updateCrypto);
     }
 
     private CurrencyRateResponse buildCurrencyRateResponse(
@@ -55,58 +103,99 @@ public class CurrencyRateServiceImpl implements CurrencyRateService {
     }
 
     private Mono<List<CurrencyRateItem>> getAndSaveFiatRates() {
-        return externalClient.getExternalFiatRates()
-                .flatMapMany(this::saveFiatRates)
-                .collectList()
+        return ingestFiatRates()
+                .switchIfEmpty(Mono.defer(this::unchangedFiatRates))
                 .onErrorResume(e -> {
-                    log.warn("Error fetching fiat rates, falling back to DB: {}", e.getMessage());
-                    return fallbackFiatRates();
+                    fiatFallbackLog.warn("Error fetching fiat rates, falling back to DB: {}", e.getMessage());
+                    return RequestTiming.timed("db-fallback-fiat", fallbackFiatRates());
                 });
     }
 
     private Mono<List<CurrencyRateItem>> getAndSaveCryptoRates() {
-        return externalClient.getExternalCryptoRates()
-                .flatMapMany(this::saveCryptoRates)
-                .collectList()
+        return ingestCryptoRates()
+                .switchIfEmpty(Mono.defer(this::unchangedCryptoRates))
                 .onErrorResume(e -> {
-                    log.warn("Error fetching crypto rates, falling back to DB: {}", e.getMessage());
-                    return fallbackCryptoRates();
+                    cryptoFallbackLog.warn("Error fetching crypto rates, falling back to DB: {}", e.getMessage());
+                    return RequestTiming.timed("db-fallback-crypto", fallbackCryptoRates());
                 });
     }
 
+    private Mono<List<CurrencyRateItem>> ingestFiatRates() {
+        return joinChunks(externalClient.getExternalFiatRates()
+                .concatMap(chunk -> RequestTiming.timed("save-fiat", saveFiatRates(chunk).collectList()), 1));
+    }
+
+    private Mono<List<CurrencyRateItem>> ingestCryptoRates() {
+        return joinChunks(externalClient.getExternalCryptoRates()
+                .concatMap(chunk -> RequestTiming.timed("save-crypto", saveCryptoRates(chunk).collectList()), 1));
+    }
+
+    private Mono<List<CurrencyRateItem>> joinChunks(Flux<List<CurrencyRateItem>> savedChunks) {
+        return savedChunks.collectList()
+                .filter(chunks -> !chunks.isEmpty())
+                .map(chunks -> chunks.size() == 1
+                        ? chunks.getFirst()
+                        : chunks.stream().flatMap(List::stream).toList());
+    }
+
     private Flux<CurrencyRateItem> saveFiatRates(List<CurrencyRateItem> rates) {
-        return Flux.fromIterable(rates)
-                .doOnSubscribe(s -> log.info("Saving {} fiat rates", rates.size()))
-                .flatMap(rate -> {
-                    FiatRate fiatRate = fiatMapper.toModel(rate);
-                    return fiatRepository.save(fiatRate).thenReturn(rate);
+        return currencyDictionary.register(rates.stream().map(CurrencyRateItem::currency).toList())
+                .thenMany(Flux.defer(() -> Flux.zip(Flux.fromIterable(rates),
+                        rateStore.saveFiatRates(rates.stream().map(fiatMapper::toModel).toList()))))
+                .doOnSubscribe(s -> log.debug("Saving {} fiat rates", rates.size()))
+                .map(saved -> {
+                    CurrencyRateItem rate = saved.getT1();
+                    tickStore.record(RateType.FIAT, rate.currency(), rate.rate(), saved.getT2().getCreatedAt());
+                    evaluateAlerts(RateType.FIAT, rate.currency(), rate.rate());
+                    return rate;
                 });
     }
 
     private Flux<CurrencyRateItem> saveCryptoRates(List<CryptoCurrencyRateDTO> rates) {
-        return Flux.fromIterable(rates)
-                .doOnSubscribe(s -> log.info("Saving {} crypto rates", rates.size()))
-                .flatMap(rate -> {
-                    CryptoRate cryptoRate = cryptoMapper.toModel(rate);
-                    return cryptoRepository.save(cryptoRate)
-                            .thenReturn(convertToCurrencyRateItem(rate));
+        return currencyDictionary.register(rates.stream().map(CryptoCurrencyRateDTO::name).toList())
+                .thenMany(Flux.defer(() -> Flux.zip(Flux.fromIterable(rates),
+                        rateStore.saveCryptoRates(rates.stream().map(cryptoMapper::toModel).toList()))))
+                .doOnSubscribe(s -> log.debug("Saving {} crypto rates", rates.size()))
+                .map(saved -> {
+                    CryptoCurrencyRateDTO rate = saved.getT1();
+                    tickStore.record(RateType.CRYPTO, rate.name(), rate.value(), saved.getT2().getCreatedAt());
+                    evaluateAlerts(RateType.CRYPTO, rate.name(), rate.value());
+                    return convertToCurrencyRateItem(rate);
                 });
     }
 
+    private void evaluateAlerts(RateType type, String currency, BigDecimal rate) {
+        try {
+            alertRuleIndex.onTick(type, currency, rate);
+        } catch (RuntimeException e) {
+            log.error("Alert evaluation failed for {} {}", type, currency, e);
+        }
+    }
+
     private Mono<List<CurrencyRateItem>> fallbackFiatRates() {
-        return fiatRepository.findLatestUnique()
-                .doOnSubscribe(s -> log.info("Using fallback fiat rates from DB"))
+        return currencyDictionary.withKnownIds(rateStore.findLatestFiatRates(), FiatRate::getCurrencyId)
+                .doOnSubscribe(s -> log.debug("Using fallback fiat rates from DB"))
                 .map(fiatMapper::toDto)
                 .collectList()
-                .doOnSuccess((list) -> log.info("Fallback fiat rates: {}", list));
+                .doOnSuccess(list -> log.debug("Fallback fiat rates: {} currencies", list.size()));
     }
 
     private Mono<List<CurrencyRateItem>> fallbackCryptoRates() {
-        return cryptoRepository.findLatestUnique()
-                .doOnSubscribe(s -> log.info("Using fallback crypto rates from DB"))
+        return currencyDictionary.withKnownIds(rateStore.findLatestCryptoRates(), CryptoRate::getCurrencyId)
+                .doOnSubscribe(s -> log.debug("Using fallback crypto rates from DB"))
                 .map(cryptoMapper::toDto)
                 .collectList()
-                .doOnSuccess((list) -> log.info("Fallback crypto rates: {}", list));
+                .doOnSuccess(list -> log.debug("Fallback crypto rates: {} currencies", list.size()));
+    }
+
+    private Mono<List<CurrencyRateItem>> unchangedFiatRates() {
+        return Mono.justOrEmpty(latestRatesCache.get().map(CurrencyRateResponse::fiat))
+                .switchIfEmpty(Mono.defer(this::fallbackFiatRates));
+    }
+
+    private Mono<List<CurrencyRateItem>> unchangedCryptoRates() {
+        return Mono.justOrEmpty(latestRatesCache.get().map(CurrencyRateResponse::crypto))
+                .switchIfEmpty(Mono.defer(this::fallbackCryptoRates));
     }
 
     private CurrencyRateItem convertToCurrencyRateItem(CryptoCurrencyRateDTO dto) {
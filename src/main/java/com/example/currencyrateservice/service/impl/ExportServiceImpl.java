@@ -0,0 +1,102 @@
+package com.example.currencyrateservice.service.impl;
+
+import com.example.currencyrateservice.data.dto.ExportResult;
+import com.example.currencyrateservice.data.model.RateType;
+import com.example.currencyrateservice.service.ExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final DataSource dataSource;
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private final Executor copyExecutor = task -> Schedulers.boundedElastic().schedule(task);
+    private final Path exportDirectory;
+    private final int chunkSize;
+
+    public ExportServiceImpl(@Qualifier("exportDataSource") DataSource dataSource,
+                             @Value("${export.directory:exports}") String exportDirectory,
+                             @Value("${export.chunk-size:65536}") int chunkSize) {
+        this.dataSource = dataSource;
+        this.exportDirectory = Paths.get(exportDirectory);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Flux<DataBuffer> exportRates(RateType type, LocalDateTime from, LocalDateTime to, boolean gzip) {
+        String copySql = "COPY (SELECT c.code AS currency, r.rate, r.created_at FROM " + type.getTable() + " r" +
+                " JOIN currency c ON c.id = r.currency_id" +
+                " WHERE r.created_at >= '" + from + "'::timestamp AND r.created_at < '" + to + "'::timestamp" +
+                " ORDER BY r.created_at) TO STDOUT WITH (FORMAT csv, HEADER)";
+
+        return Flux.from(DataBufferUtils.outputStreamPublisher(
+                        outputStream -> copyOut(copySql, outputStream, gzip), bufferFactory, copyExecutor, chunkSize))
+                .doOnSubscribe(s -> log.info("Exporting {} rows from {} to {}", type.getTable(), from, to));
+    }
+
+    @Override
+    public Mono<ExportResult> exportRatesToFile(RateType type, LocalDateTime from, LocalDateTime to, boolean gzip) {
+        Path target = exportDirectory.resolve(type.getTable() + "-" + FILE_TIMESTAMP.format(from) + "-" +
+                FILE_TIMESTAMP.format(to) + (gzip ? ".csv.gz" : ".csv"));
+        AtomicLong bytes = new AtomicLong();
+        long startedAt = System.nanoTime();
+
+        return Mono.fromCallable(() -> Files.createDirectories(exportDirectory))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(DataBufferUtils.write(
+                        exportRates(type, from, to, gzip).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount())),
+                        target))
+                .then(Mono.fromSupplier(() -> new ExportResult(target.toString(), bytes.get(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt))))
+                .doOnSuccess(result -> log.info("Exported {} to {} ({} bytes in {} ms)",
+                        type.getTable(), result.file(), result.bytes(), result.elapsedMillis()));
+    }
+
+    private void copyOut(String copySql, OutputStream outputStream, boolean gzip) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, chunkSize) : outputStream;
+            long rows = connection.unwrap(PGConnection.class).getCopyAPI().copyOut(copySql, target);
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            log.info("Export finished: {} rows", rows);
+        } catch (SQLException e) {
+            log.error("Export failed: {}", e.getMessage());
+            throw new IllegalStateException("Export failed", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
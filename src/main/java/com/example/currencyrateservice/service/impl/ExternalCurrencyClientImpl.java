@@ -3,53 +3,234 @@ package com.example.currencyrateservice.service.impl;
 import com.example.currencyrateservice.data.dto.CryptoCurrencyRateDTO;
 import com.example.currencyrateservice.data.dto.CurrencyRateItem;
 import com.example.currencyrateservice.service.ExternalCurrencyClient;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatusCode;
-import org.springframework.stereotype.Service;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.JacksonJsonDecoder;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
 
 @Slf4j
-@Service
-@RequiredArgsConstructor
 public class ExternalCurrencyClientImpl implements ExternalCurrencyClient {
 
+    private static final long NO_HASH = -1;
+
+    private final String provider;
     private final WebClient currencyWebClient;
+    private final JsonMapper jsonMapper;
+    private final UpstreamEndpoint fiatEndpoint;
+    private final UpstreamEndpoint cryptoEndpoint;
+    private final JacksonJsonDecoder streamingDecoder;
+    private final Duration timeout;
+    private final int chunkSize;
+    private final long dedupeMaxBytes;
+
+    public ExternalCurrencyClientImpl(String provider,
+                                      WebClient currencyWebClient,
+                                      JsonMapper jsonMapper,
+                                      MeterRegistry meterRegistry,
+                                      Duration timeout,
+                                      int chunkSize,
+                                      long dedupeMaxBytes) {
+        this.provider = provider;
+        this.currencyWebClient = currencyWebClient;
+        this.jsonMapper = jsonMapper;
+        this.streamingDecoder = new JacksonJsonDecoder(jsonMapper);
+        this.timeout = timeout;
+        this.chunkSize = chunkSize;
+        this.dedupeMaxBytes = dedupeMaxBytes;
+        this.fiatEndpoint = new UpstreamEndpoint(provider, "fiat", meterRegistry);
+        this.cryptoEndpoint = new UpstreamEndpoint(provider, "crypto", meterRegistry);
+    }
+
+    public String provider() {
+        return provider;
+    }
 
     @Override
-    public Mono<List<CurrencyRateItem>> getExternalFiatRates() {
-        return currencyWebClient.get()
+    public Flux<List<CurrencyRateItem>> getExternalFiatRates() {
+        WebClient.RequestHeadersSpec<?> request = currencyWebClient.get()
                 .uri("/fiat-currency-rates")
-                .header("X-API-KEY", "secret-key")
-                .retrieve()
-                .onStatus(HttpStatusCode::isError, clientResponse -> clientResponse
-                        .bodyToMono(String.class)
-                        .then(Mono.error(new RuntimeException("Fiat error occurred"))))
-                .bodyToFlux(CurrencyRateItem.class)
-                .collectList()
-                .timeout(Duration.ofSeconds(4))
-                .doOnSuccess(list -> log.info("Received {} fiat rates from external API", list.size()))
-                .doOnError(e -> log.error(e.getMessage()));
+                .header("X-API-KEY", "secret-key");
+
+        return fetchIfChanged(fiatEndpoint, request, CurrencyRateItem.class, "Fiat error occurred")
+                .timeout(Mono.delay(timeout), chunk -> Mono.never())
+                .doOnNext(chunk -> log.debug("Received {} fiat rates from {}", chunk.size(), provider))
+                .doOnError(e -> log.error("{} fiat fetch failed: {}", provider, e.getMessage(), e));
     }
 
     @Override
-    public Mono<List<CryptoCurrencyRateDTO>> getExternalCryptoRates() {
-        return currencyWebClient.get()
-                .uri("/crypto-currency-rates")
-                .retrieve()
-                .onStatus(HttpStatusCode::isError, clientResponse -> clientResponse
-                        .bodyToMono(String.class)
-                        .then(Mono.error(new RuntimeException("Crypto error occurred"))))
-                .bodyToFlux(CryptoCurrencyRateDTO.class)
-                .collectList()
-                .timeout(Duration.ofSeconds(4))
-                .doOnSuccess(list -> log.info("Received {} crypto rates from external API", list.size()))
-                .doOnError(e -> log.error(e.getMessage()));
+    public Flux<List<CryptoCurrencyRateDTO>> getExternalCryptoRates() {
+        WebClient.RequestHeadersSpec<?> request = currencyWebClient.get()
+                .uri("/crypto-currency-rates");
+
+        return fetchIfChanged(cryptoEndpoint, request, CryptoCurrencyRateDTO.class, "Crypto error occurred")
+                .timeout(Mono.delay(timeout), chunk -> Mono.never())
+                .doOnNext(chunk -> log.debug("Received {} crypto rates from {}", chunk.size(), provider))
+                .doOnError(e -> log.error("{} crypto fetch failed: {}", provider, e.getMessage(), e));
     }
 
-}
+    private <T> Flux<List<T>> fetchIfChanged(UpstreamEndpoint endpoint,
+                                             WebClient.RequestHeadersSpec<?> request,
+                                             Class<T> itemType,
+                                             String errorMessage) {
+        return Flux.defer(() -> {
+            Validators previous = endpoint.validators.get();
+            return request
+                    .headers(previous::applyTo)
+                    .exchangeToFlux(response -> readIfChanged(endpoint, previous, response, itemType, errorMessage));
+        });
+    }
 
+    private <T> Flux<List<T>> readIfChanged(UpstreamEndpoint endpoint,
+                                            Validators previous,
+                                            ClientResponse response,
+                                            Class<T> itemType,
+                                            String errorMessage) {
+        if (response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            endpoint.notModified.increment();
+            return response.releaseBody().thenMany(Flux.empty());
+        }
+        if (response.statusCode().isError()) {
+            return response.bodyToMono(String.class)
+                    .thenMany(Flux.error(new RuntimeException(errorMessage)));
+        }
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        AtomicLong bytesRead = new AtomicLong();
+        return response.body(BodyExtractors.toDataBuffers())
+                .bufferUntil(buffer -> bytesRead.addAndGet(buffer.readableByteCount()) > dedupeMaxBytes)
+                .switchOnFirst((first, parts) -> {
+                    List<DataBuffer> head = first.hasValue() ? first.get() : List.of();
+                    if (byteCount(head) > dedupeMaxBytes) {
+                        return readStreaming(endpoint, headers, parts.flatMapIterable(Function.identity()), itemType);
+                    }
+                    return parts.next()
+                            .map(ExternalCurrencyClientImpl::join)
+                            .defaultIfEmpty(new byte[0])
+                            .flatMapMany(body -> readBuffered(endpoint, previous, headers, body, itemType));
+                });
+    }
+
+    private <T> Flux<List<T>> readBuffered(UpstreamEndpoint endpoint,
+                                           Validators previous,
+                                           HttpHeaders headers,
+                                           byte[] body,
+                                           Class<T> itemType) {
+        long contentHash = contentHash(body);
+        if (previous.contentHash() != NO_HASH && previous.contentHash() == contentHash) {
+            endpoint.unchanged.increment();
+            return Flux.empty();
+        }
+        List<T> items = body.length == 0
+                ? List.of()
+                : jsonMapper.readValue(body, jsonMapper.getTypeFactory().constructCollectionType(List.class, itemType));
+        endpoint.validators.set(new Validators(
+                headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED), contentHash));
+        endpoint.changed.increment();
+        return inChunks(Flux.fromIterable(items));
+    }
+
+    private <T> Flux<List<T>> readStreaming(UpstreamEndpoint endpoint,
+                                            HttpHeaders headers,
+                                            Flux<DataBuffer> body,
+                                            Class<T> itemType) {
+        Flux<T> items = streamingDecoder.decode(body, ResolvableType.forClass(itemType), MediaType.APPLICATION_JSON, null)
+                .cast(itemType);
+        return inChunks(items)
+                .doOnComplete(() -> {
+                    endpoint.validators.set(new Validators(
+                            headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED), NO_HASH));
+                    endpoint.streamed.increment();
+                });
+    }
+
+    private <T> Flux<List<T>> inChunks(Flux<T> items) {
+        return items.buffer(chunkSize)
+                .defaultIfEmpty(List.of());
+    }
+
+    private static long byteCount(List<DataBuffer> buffers) {
+        long count = 0;
+        for (DataBuffer buffer : buffers) {
+            count += buffer.readableByteCount();
+        }
+        return count;
+    }
+
+    private static byte[] join(List<DataBuffer> buffers) {
+        byte[] body = new byte[Math.toIntExact(byteCount(buffers))];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int length = buffer.readableByteCount();
+            buffer.read(body, offset, length);
+            offset += length;
+            DataBufferUtils.release(buffer);
+        }
+        return body;
+    }
+
+    private static long contentHash(byte[] body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        return (long) body.length << 32 | crc.getValue();
+    }
+
+    private record Validators(String etag, String lastModified, long contentHash) {
+
+        private static final Validators NONE = new Validators(null, null, NO_HASH);
+
+        private void applyTo(HttpHeaders headers) {
+            if (etag != null) {
+                headers.set(HttpHeaders.IF_NONE_MATCH, etag);
+            }
+            if (lastModified != null) {
+                headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            }
+        }
+
+    }
+
+    private static final class UpstreamEndpoint {
+
+        private final AtomicReference<Validators> validators = new AtomicReference<>(Validators.NONE);
+        private final Counter notModified;
+        private final Counter unchanged;
+        private final Counter changed;
+        private final Counter streamed;
+
+        private UpstreamEndpoint(String provider, String name, MeterRegistry meterRegistry) {
+            this.notModified = counter(meterRegistry, provider, name, "not-modified");
+            this.unchanged = counter(meterRegistry, provider, name, "unchanged");
+            this.changed = counter(meterRegistry, provider, name, "changed");
+            this.streamed = counter(meterRegistry, provider, name, "streamed");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String provider, String endpoint, String outcome) {
+            return Counter.builder("currency.rates.upstream.fetches")
+                    .description("Upstream fetches by conditional-request outcome")
+                    .tag("provider", provider)
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.example.currencyrateservice.service.impl;
+
+import com.example.currencyrateservice.cache.CurrencyDictionary;
+import com.example.currencyrateservice.cache.RecentTickStore;
+import com.example.currencyrateservice.data.dto.HistoricalRateItem;
+import com.example.currencyrateservice.data.dto.RateWindowStats;
+import com.example.currencyrateservice.data.mapper.CryptoRateMapper;
+import com.example.currencyrateservice.data.mapper.FiatRateMapper;
+import com.example.currencyrateservice.data.model.CryptoRate;
+import com.example.currencyrateservice.data.model.FiatRate;
+import com.example.currencyrateservice.data.model.RateType;
+import com.example.currencyrateservice.repository.CryptoRateRepository;
+import com.example.currencyrateservice.repository.FiatRateRepository;
+import com.example.currencyrateservice.routing.ReadRouting;
+import com.example.currencyrateservice.service.RateHistoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+public class RateHistoryServiceImpl implements RateHistoryService {
+
+    private final FiatRateRepository fiatRepository;
+    private final CryptoRateRepository cryptoRepository;
+    private final FiatRateMapper fiatMapper;
+    private final CryptoRateMapper cryptoMapper;
+    private final RecentTickStore tickStore;
+    private final CurrencyDictionary currencyDictionary;
+
+    public RateHistoryServiceImpl(FiatRateRepository fiatRepository,
+                                  CryptoRateRepository cryptoRepository,
+                                  FiatRateMapper fiatMapper,
+                                  CryptoRateMapper cryptoMapper,
+                                  RecentTickStore tickStore,
+                                  CurrencyDictionary currencyDictionary) {
+        this.fiatRepository = fiatRepository;
+        this.cryptoRepository = cryptoRepository;
+        this.fiatMapper = fiatMapper;
+        this.cryptoMapper = cryptoMapper;
+        this.tickStore = tickStore;
+        this.currencyDictionary = currencyDictionary;
+    }
+
+    @Override
+    public Mono<List<HistoricalRateItem>> getRatesAsOf(RateType type, List<String> currencies, LocalDateTime asOf) {
+        Mono<List<Short>> currencyIds = currencyDictionary.refreshIfMissing(currencies)
+                .then(Mono.fromSupplier(() -> currencies.stream()
+                        .distinct()
+                        .flatMap(code -> currencyDictionary.findId(code).stream())
+                        .toList()));
+
+        return currencyIds.flatMap(ids -> ids.isEmpty()
+                        ? Mono.just(List.<HistoricalRateItem>of())
+                        : (type == RateType.FIAT ? fiatRatesAsOf(ids, asOf) : cryptoRatesAsOf(ids, asOf)).collectList())
+                .doOnSuccess(list -> log.debug("Resolved {} of {} {} rates as of {}",
+                        list.size(), currencies.size(), type, asOf));
+    }
+
+    @Override
+    public Mono<List<HistoricalRateItem>> getRecentRates(RateType type, String currency, Duration window) {
+        return Mono.fromSupplier(() -> tickStore.recent(type, currency, window));
+    }
+
+    @Override
+    public Mono<RateWindowStats> getRecentStats(RateType type, String currency, Duration window) {
+        return Mono.justOrEmpty(tickStore.stats(type, currency, window));
+    }
+
+    private Flux<HistoricalRateItem> fiatRatesAsOf(List<Short> currencyIds, LocalDateTime asOf) {
+        Flux<FiatRate> rates = currencyIds.size() == 1
+                ? fiatRepository.findAsOf(currencyIds.getFirst(), asOf).flux()
+                : fiatRepository.findAllAsOf(currencyIds.toArray(Short[]::new), asOf);
+        return ReadRouting.onReplica(rates).map(fiatMapper::toHistoricalDto);
+    }
+
+    private Flux<HistoricalRateItem> cryptoRatesAsOf(List<Short> currencyIds, LocalDateTime asOf) {
+        Flux<CryptoRate> rates = currencyIds.size() == 1
+                ? cryptoRepository.findAsOf(currencyIds.getFirst(), asOf).flux()
+                : cryptoRepository.findAllAsOf(currencyIds.toArray(Short[]::new), asOf);
+        return ReadRouting.onReplica(rates).map(cryptoMapper::toHistoricalDto);
+    }
+
+}
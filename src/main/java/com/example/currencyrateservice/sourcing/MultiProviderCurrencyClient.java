@@ -0,0 +1,216 @@
+package com.example.currencyrateservice.sourcing;
+
+import com.example.currencyrateservice.data.dto.CryptoCurrencyRateDTO;
+import com.example.currencyrateservice.data.dto.CurrencyRateItem;
+import com.example.currencyrateservice.polling.CallBudget;
+import com.example.currencyrateservice.polling.CallBudgetExhaustedException;
+import com.example.currencyrateservice.service.ExternalCurrencyClient;
+import com.example.currencyrateservice.service.impl.ExternalCurrencyClientImpl;
+import com.example.currencyrateservice.tracing.RequestTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class MultiProviderCurrencyClient implements ExternalCurrencyClient {
+
+    private final List<ProviderEndpoint<CurrencyRateItem>> fiatEndpoints = new ArrayList<>();
+    private final List<ProviderEndpoint<CryptoCurrencyRateDTO>> cryptoEndpoints = new ArrayList<>();
+    private final CallBudget callBudget;
+    private final SourcingMode mode;
+    private final Duration hedgeDelay;
+    private final Duration medianDeadline;
+    private final int chunkSize;
+
+    public MultiProviderCurrencyClient(List<UpstreamProvider> upstreamProviders,
+                                       JsonMapper jsonMapper,
+                                       MeterRegistry meterRegistry,
+                                       CallBudget callBudget,
+                                       @Value("${external.sourcing.mode:RACE}") SourcingMode mode,
+                                       @Value("${external.sourcing.hedge-delay:PT0.5S}") Duration hedgeDelay,
+                                       @Value("${external.sourcing.median-deadline:PT3S}") Duration medianDeadline,
+                                       @Value("${external.sourcing.failure-threshold:3}") int failureThreshold,
+                                       @Value("${external.sourcing.cooldown:PT30S}") Duration cooldown,
+                                       @Value("${external.currency-api.ingest-chunk-size:500}") int chunkSize,
+                                       @Value("${external.currency-api.dedupe-max-bytes:262144}") long dedupeMaxBytes) {
+        this.callBudget = callBudget;
+        this.mode = mode;
+        this.hedgeDelay = hedgeDelay;
+        this.medianDeadline = medianDeadline;
+        this.chunkSize = chunkSize;
+
+        for (UpstreamProvider provider : upstreamProviders) {
+            ExternalCurrencyClientImpl client = new ExternalCurrencyClientImpl(provider.name(), provider.webClient(),
+                    jsonMapper, meterRegistry, provider.timeout(), chunkSize, dedupeMaxBytes);
+            fiatEndpoints.add(new ProviderEndpoint<>(client::getExternalFiatRates,
+                    new ProviderHealth(provider.name(), "fiat", failureThreshold, cooldown, meterRegistry)));
+            cryptoEndpoints.add(new ProviderEndpoint<>(client::getExternalCryptoRates,
+                    new ProviderHealth(provider.name(), "crypto", failureThreshold, cooldown, meterRegistry)));
+        }
+        log.info("Sourcing rates from {} upstream provider(s) in {} mode", upstreamProviders.size(), mode);
+    }
+
+    @Override
+    public Flux<List<CurrencyRateItem>> getExternalFiatRates() {
+        return RequestTiming.timed("upstream-fiat", source(fiatEndpoints, RateConsensus.FIAT));
+    }
+
+    @Override
+    public Flux<List<CryptoCurrencyRateDTO>> getExternalCryptoRates() {
+        return RequestTiming.timed("upstream-crypto", source(cryptoEndpoints, RateConsensus.CRYPTO));
+    }
+
+    private <T> Flux<List<T>> source(List<ProviderEndpoint<T>> endpoints, RateConsensus<T> consensus) {
+        return Flux.defer(() -> {
+            List<ProviderEndpoint<T>> ranked = rank(endpoints);
+            if (ranked.size() == 1) {
+                return budgeted(() -> observed(ranked.getFirst().health(), ranked.getFirst().fetch().get()))
+                        .switchIfEmpty(Flux.defer(() -> Flux.error(new CallBudgetExhaustedException())));
+            }
+            return mode == SourcingMode.MEDIAN ? median(ranked, consensus) : race(ranked);
+        });
+    }
+
+    private <T> List<ProviderEndpoint<T>> rank(List<ProviderEndpoint<T>> endpoints) {
+        List<ProviderEndpoint<T>> available = endpoints.stream()
+                .filter(endpoint -> endpoint.health().isAvailable())
+                .toList();
+        return (available.isEmpty() ? endpoints : available).stream()
+                .sorted(Comparator.comparingDouble(endpoint -> endpoint.health().latencyMillis()))
+                .toList();
+    }
+
+    private <T> Flux<List<T>> race(List<ProviderEndpoint<T>> ranked) {
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger started = new AtomicInteger();
+        AtomicBoolean decided = new AtomicBoolean();
+        List<Flux<List<T>>> contenders = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            ProviderEndpoint<T> endpoint = ranked.get(i);
+            contenders.add(Mono.delay(hedgeDelay.multipliedBy(i))
+                    .thenMany(budgeted(() -> {
+                        started.incrementAndGet();
+                        return observed(endpoint.health(), endpoint.fetch().get());
+                    }))
+                    .doOnNext(chunk -> {
+                        if (decided.compareAndSet(false, true)) {
+                            endpoint.health().onSelected();
+                        }
+                    })
+                    .onErrorResume(e -> {
+                        failures.incrementAndGet();
+                        return Flux.empty();
+                    }));
+        }
+        return Flux.firstWithValue(contenders)
+                .onErrorResume(NoSuchElementException.class, e -> {
+                    if (started.get() == 0) {
+                        return Flux.error(new CallBudgetExhaustedException());
+                    }
+                    return failures.get() == started.get()
+                            ? Flux.error(new RuntimeException("All upstream providers failed"))
+                            : Flux.empty();
+                });
+    }
+
+    private <T> Flux<List<T>> median(List<ProviderEndpoint<T>> ranked, RateConsensus<T> consensus) {
+        AtomicInteger started = new AtomicInteger();
+        return Flux.fromIterable(ranked)
+                .flatMap(endpoint -> budgeted(() -> {
+                            started.incrementAndGet();
+                            return observed(endpoint.health(), endpoint.fetch().get().collectList().timeout(medianDeadline).flux());
+                        })
+                        .next()
+                        .flatMap(chunks -> Mono.justOrEmpty(endpoint.answer(chunks)))
+                        .onErrorResume(e -> Mono.empty()))
+                .collectList()
+                .flatMapMany(answers -> {
+                    if (started.get() == 0) {
+                        return Flux.error(new CallBudgetExhaustedException());
+                    }
+                    if (answers.isEmpty()) {
+                        return Flux.error(new RuntimeException("No upstream provider answered within " + medianDeadline));
+                    }
+                    if (answers.stream().noneMatch(Answer::changed)) {
+                        return Flux.empty();
+                    }
+                    answers.forEach(answer -> answer.health().onSelected());
+                    List<T> merged = consensus.median(answers.stream().map(Answer::rates).toList());
+                    return Flux.fromIterable(merged)
+                            .buffer(chunkSize)
+                            .defaultIfEmpty(List.of());
+                });
+    }
+
+    private <R> Flux<R> budgeted(Supplier<Flux<R>> call) {
+        return Flux.defer(() -> callBudget.tryAcquire() ? call.get() : Flux.empty());
+    }
+
+    private <R> Flux<R> observed(ProviderHealth health, Flux<R> fetch) {
+        return Flux.defer(() -> {
+            long startedAt = System.nanoTime();
+            AtomicBoolean settled = new AtomicBoolean();
+            return fetch
+                    .doOnNext(value -> {
+                        if (settled.compareAndSet(false, true)) {
+                            health.onSuccess(System.nanoTime() - startedAt);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        if (settled.compareAndSet(false, true)) {
+                            health.onSuccess(System.nanoTime() - startedAt);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (settled.compareAndSet(false, true)) {
+                            health.onFailure(System.nanoTime() - startedAt);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (settled.compareAndSet(false, true)) {
+                            health.onAbandoned(System.nanoTime() - startedAt);
+                        }
+                    });
+        });
+    }
+
+    private record ProviderEndpoint<T>(Supplier<Flux<List<T>>> fetch,
+                                       ProviderHealth health,
+                                       AtomicReference<List<T>> lastRates) {
+
+        private ProviderEndpoint(Supplier<Flux<List<T>>> fetch, ProviderHealth health) {
+            this(fetch, health, new AtomicReference<>());
+        }
+
+        private Optional<Answer<T>> answer(List<List<T>> chunks) {
+            if (chunks.isEmpty()) {
+                return Optional.ofNullable(lastRates.get())
+                        .map(rates -> new Answer<>(health, rates, false));
+            }
+            List<T> rates = chunks.stream().flatMap(List::stream).toList();
+            lastRates.set(rates);
+            return Optional.of(new Answer<>(health, rates, true));
+        }
+
+    }
+
+    private record Answer<T>(ProviderHealth health, List<T> rates, boolean changed) {
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.example.currencyrateservice.sourcing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ProviderHealth {
+
+    private static final double EWMA_WEIGHT = 0.2;
+
+    private final int failureThreshold;
+    private final long cooldownNanos;
+    private final Timer successLatency;
+    private final Timer errorLatency;
+    private final Counter selected;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile double latencyMillis;
+    private volatile long unavailableUntil = System.nanoTime();
+
+    public ProviderHealth(String provider,
+                          String endpoint,
+                          int failureThreshold,
+                          Duration cooldown,
+                          MeterRegistry meterRegistry) {
+        this.failureThreshold = failureThreshold;
+        this.cooldownNanos = cooldown.toNanos();
+        this.successLatency = latencyTimer(meterRegistry, provider, endpoint, "success");
+        this.errorLatency = latencyTimer(meterRegistry, provider, endpoint, "error");
+        this.selected = Counter.builder("currency.rates.upstream.selected")
+                .description("Answers taken from the provider")
+                .tag("provider", provider)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("currency.rates.upstream.latency.ewma", this, ProviderHealth::latencyMillis)
+                .description("Smoothed time to first answer used to rank providers")
+                .baseUnit("milliseconds")
+                .tag("provider", provider)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("currency.rates.upstream.available", this, health -> health.isAvailable() ? 1 : 0)
+                .description("Whether the provider is currently used")
+                .tag("provider", provider)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    public void onSuccess(long elapsedNanos) {
+        successLatency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        consecutiveFailures.set(0);
+        updateLatency(elapsedNanos);
+    }
+
+    public void onFailure(long elapsedNanos) {
+        errorLatency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            unavailableUntil = System.nanoTime() + cooldownNanos;
+        }
+    }
+
+    public void onAbandoned(long elapsedNanos) {
+        updateLatency(elapsedNanos);
+    }
+
+    public void onSelected() {
+        selected.increment();
+    }
+
+    public boolean isAvailable() {
+        return System.nanoTime() - unavailableUntil >= 0;
+    }
+
+    public double latencyMillis() {
+        return latencyMillis;
+    }
+
+    private void updateLatency(long elapsedNanos) {
+        double sample = elapsedNanos / 1_000_000.0;
+        double current = latencyMillis;
+        latencyMillis = current == 0 ? sample : current + EWMA_WEIGHT * (sample - current);
+    }
+
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String provider, String endpoint, String outcome) {
+        return Timer.builder("currency.rates.upstream.latency")
+                .description("Time to the first answer from an upstream provider")
+                .tag("provider", provider)
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.example.currencyrateservice.sourcing;
+
+import com.example.currencyrateservice.data.dto.CryptoCurrencyRateDTO;
+import com.example.currencyrateservice.data.dto.CurrencyRateItem;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public class RateConsensus<T> {
+
+    public static final RateConsensus<CurrencyRateItem> FIAT =
+            new RateConsensus<>(CurrencyRateItem::currency, CurrencyRateItem::rate, CurrencyRateItem::new);
+    public static final RateConsensus<CryptoCurrencyRateDTO> CRYPTO =
+            new RateConsensus<>(CryptoCurrencyRateDTO::name, CryptoCurrencyRateDTO::value, CryptoCurrencyRateDTO::new);
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private final Function<T, String> currency;
+    private final Function<T, BigDecimal> value;
+    private final BiFunction<String, BigDecimal, T> factory;
+
+    public RateConsensus(Function<T, String> currency,
+                         Function<T, BigDecimal> value,
+                         BiFunction<String, BigDecimal, T> factory) {
+        this.currency = currency;
+        this.value = value;
+        this.factory = factory;
+    }
+
+    public List<T> median(List<List<T>> answers) {
+        Map<String, List<BigDecimal>> valuesByCurrency = new LinkedHashMap<>();
+        for (List<T> answer : answers) {
+            for (T rate : answer) {
+                String code = currency.apply(rate);
+                BigDecimal rateValue = value.apply(rate);
+                if (code != null && rateValue != null) {
+                    valuesByCurrency.computeIfAbsent(code, key -> new ArrayList<>()).add(rateValue);
+                }
+            }
+        }
+
+        List<T> consensus = new ArrayList<>(valuesByCurrency.size());
+        valuesByCurrency.forEach((code, values) -> consensus.add(factory.apply(code, medianOf(values))));
+        return consensus;
+    }
+
+    private static BigDecimal medianOf(List<BigDecimal> values) {
+        values.sort(null);
+        int middle = values.size() / 2;
+        if (values.size() % 2 == 1) {
+            return values.get(middle);
+        }
+        return values.get(middle - 1).add(values.get(middle)).divide(TWO, MathContext.DECIMAL64);
+    }
+
+}
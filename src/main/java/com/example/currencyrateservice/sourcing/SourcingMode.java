@@ -0,0 +1,6 @@
+package com.example.currencyrateservice.sourcing;
+
+public enum SourcingMode {
+    RACE,
+    MEDIAN
+}
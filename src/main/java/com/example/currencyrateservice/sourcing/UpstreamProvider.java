@@ -0,0 +1,8 @@
+package com.example.currencyrateservice.sourcing;
+
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+public record UpstreamProvider(String name, WebClient webClient, Duration timeout) {
+}
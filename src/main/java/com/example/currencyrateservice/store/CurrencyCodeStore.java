@@ -0,0 +1,13 @@
+package com.example.currencyrateservice.store;
+
+import com.example.currencyrateservice.data.model.Currency;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public interface CurrencyCodeStore {
+
+    Flux<Currency> register(List<String> codes);
+    Flux<Currency> findAll();
+
+}
@@ -0,0 +1,131 @@
+package com.example.currencyrateservice.store;
+
+import com.example.currencyrateservice.data.model.Currency;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "persistence.backend", havingValue = "ticklog")
+public class FileCurrencyCodeStore implements CurrencyCodeStore {
+
+    private static final Pattern LINE = Pattern.compile("(\\d{1,5}),([^,\\s]+)");
+
+    private final Path file;
+    private final Map<String, Short> idsByCode = new LinkedHashMap<>();
+
+    public FileCurrencyCodeStore(@Value("${ticklog.directory:ticklog}") Path directory) throws IOException {
+        this.file = directory.resolve("currencies.txt");
+        Files.createDirectories(directory);
+        if (Files.exists(file)) {
+            recover();
+        }
+        log.info("Loaded {} currency codes from {}", idsByCode.size(), file);
+    }
+
+    @Override
+    public Flux<Currency> register(List<String> codes) {
+        return Mono.fromCallable(() -> registerBlocking(codes))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Flux<Currency> findAll() {
+        return Mono.fromCallable(this::snapshot)
+                .flatMapIterable(Function.identity());
+    }
+
+    private synchronized List<Currency> registerBlocking(List<String> codes) {
+        Map<String, Short> added = new LinkedHashMap<>();
+        StringBuilder lines = new StringBuilder();
+        for (String code : codes) {
+            if (!idsByCode.containsKey(code) && !added.containsKey(code)) {
+                int id = idsByCode.size() + added.size() + 1;
+                if (id > Short.MAX_VALUE) {
+                    throw new IllegalStateException("Currency id space exhausted in " + file);
+                }
+                added.put(code, (short) id);
+                lines.append(id).append(',').append(code).append('\n');
+            }
+        }
+        if (!added.isEmpty()) {
+            write(lines.toString());
+            idsByCode.putAll(added);
+        }
+        return codes.stream()
+                .distinct()
+                .map(code -> new Currency(idsByCode.get(code), code))
+                .toList();
+    }
+
+    private synchronized List<Currency> snapshot() {
+        return idsByCode.entrySet().stream()
+                .map(entry -> new Currency(entry.getValue(), entry.getKey()))
+                .toList();
+    }
+
+    private void recover() throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        int offset = 0;
+        for (int end = indexOf(content, offset); end >= 0; end = indexOf(content, offset)) {
+            Matcher line = LINE.matcher(new String(content, offset, end - offset, StandardCharsets.UTF_8));
+            if (!line.matches() || Integer.parseInt(line.group(1)) != idsByCode.size() + 1
+                    || idsByCode.containsKey(line.group(2))) {
+                break;
+            }
+            idsByCode.put(line.group(2), (short) Integer.parseInt(line.group(1)));
+            offset = end + 1;
+        }
+
+        if (offset < content.length) {
+            log.warn("Truncating {} bytes of incomplete or corrupt currency codes from {}", content.length - offset, file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(offset);
+                channel.force(true);
+            }
+        }
+    }
+
+    private static int indexOf(byte[] content, int from) {
+        for (int i = from; i < content.length; i++) {
+            if (content[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void write(String lines) {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not append currency codes to " + file, e);
+        }
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.example.currencyrateservice.store;
+
+import com.example.currencyrateservice.data.model.CryptoRate;
+import com.example.currencyrateservice.data.model.FiatRate;
+import com.example.currencyrateservice.data.model.RateType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "persistence.backend", havingValue = "jdbc")
+public class JdbcRateStore implements RateStore {
+
+    private final DataSource dataSource;
+    private final Scheduler scheduler = Schedulers.fromExecutorService(
+            Executors.newVirtualThreadPerTaskExecutor(), "jdbc-rate-store");
+
+    public JdbcRateStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Flux<FiatRate> saveFiatRates(List<FiatRate> rates) {
+        return insert(RateType.FIAT, rates, FiatRate::getCurrencyId, FiatRate::getRate, FiatRate::getCreatedAt);
+    }
+
+    @Override
+    public Flux<CryptoRate> saveCryptoRates(List<CryptoRate> rates) {
+        return insert(RateType.CRYPTO, rates, CryptoRate::getCurrencyId, CryptoRate::getRate, CryptoRate::getCreatedAt);
+    }
+
+    @Override
+    public Flux<FiatRate> findLatestFiatRates() {
+        return findLatest(RateType.FIAT, row -> new FiatRate(row.id(), row.currencyId(), row.rate(), row.createdAt()));
+    }
+
+    @Override
+    public Flux<CryptoRate> findLatestCryptoRates() {
+        return findLatest(RateType.CRYPTO, row -> new CryptoRate(row.id(), row.currencyId(), row.rate(), row.createdAt()));
+    }
+
+    @Override
+    public Flux<FiatRate> findFiatRatesSince(LocalDateTime since) {
+        return findSince(RateType.FIAT, since, row -> new FiatRate(row.id(), row.currencyId(), row.rate(), row.createdAt()));
+    }
+
+    @Override
+    public Flux<CryptoRate> findCryptoRatesSince(LocalDateTime since) {
+        return findSince(RateType.CRYPTO, since, row -> new CryptoRate(row.id(), row.currencyId(), row.rate(), row.createdAt()));
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.dispose();
+    }
+
+    private <T> Flux<T> insert(RateType type,
+                               List<T> rates,
+                               Function<T, Short> currencyId,
+                               Function<T, BigDecimal> rate,
+                               Function<T, LocalDateTime> createdAt) {
+        if (rates.isEmpty()) {
+            return Flux.empty();
+        }
+        String sql = "INSERT INTO " + type.getTable() + " (currency_id, rate, created_at) VALUES (?, ?, ?)";
+        return Mono.fromCallable(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        connection.setAutoCommit(false);
+                        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                            for (T row : rates) {
+                                statement.setShort(1, currencyId.apply(row));
+                                statement.setBigDecimal(2, rate.apply(row));
+                                statement.setObject(3, createdAt.apply(row));
+                                statement.addBatch();
+                            }
+                            statement.executeBatch();
+                            connection.commit();
+                        } catch (SQLException e) {
+                            connection.rollback();
+                            throw e;
+                        }
+                    } catch (SQLException e) {
+                        log.error("Batch insert into {} failed: {}", type.getTable(), e.getMessage());
+                        throw new IllegalStateException("Batch insert into " + type.getTable() + " failed", e);
+                    }
+                    return rates;
+                })
+                .subscribeOn(scheduler)
+                .flatMapIterable(Function.identity());
+    }
+
+    private <T> Flux<T> findLatest(RateType type, Function<RateRow, T> factory) {
+        String sql = "SELECT DISTINCT ON (currency_id) id, currency_id, rate, created_at " +
+                "FROM " + type.getTable() + " ORDER BY currency_id, created_at DESC";
+        return query(type, "Latest", sql, statement -> {}, factory);
+    }
+
+    private <T> Flux<T> findSince(RateType type, LocalDateTime since, Function<RateRow, T> factory) {
+        String sql = "SELECT r.id, r.currency_id, r.rate, r.created_at FROM currency c " +
+                "CROSS JOIN LATERAL (SELECT t.id, t.currency_id, t.rate, t.created_at FROM " + type.getTable() + " t " +
+                "WHERE t.currency_id = c.id AND t.created_at >= ? ORDER BY t.created_at) r";
+        return query(type, "Recent", sql, statement -> statement.setObject(1, since), factory);
+    }
+
+    private <T> Flux<T> query(RateType type,
+                              String name,
+                              String sql,
+                              StatementBinder binder,
+                              Function<RateRow, T> factory) {
+        return Mono.fromCallable(() -> {
+                    List<T> rows = new ArrayList<>();
+                    try (Connection connection = dataSource.getConnection();
+                         PreparedStatement statement = connection.prepareStatement(sql)) {
+                        binder.bind(statement);
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            while (resultSet.next()) {
+                                rows.add(factory.apply(new RateRow(
+                                        resultSet.getLong("id"),
+                                        resultSet.getShort("currency_id"),
+                                        resultSet.getBigDecimal("rate"),
+                                        resultSet.getObject("created_at", LocalDateTime.class))));
+                            }
+                        }
+                    } catch (SQLException e) {
+                        log.error("{} {} query failed: {}", name, type.getTable(), e.getMessage());
+                        throw new IllegalStateException(name + " " + type.getTable() + " query failed", e);
+                    }
+                    return rows;
+                })
+                .subscribeOn(scheduler)
+                .flatMapIterable(Function.identity());
+    }
+
+    private interface StatementBinder {
+
+        void bind(PreparedStatement statement) throws SQLException;
+
+    }
+
+    private record RateRow(Long id, Short currencyId, BigDecimal rate, LocalDateTime createdAt) {
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.example.currencyrateservice.store;
+
+import com.example.currencyrateservice.data.model.Currency;
+import com.example.currencyrateservice.repository.CurrencyRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+@Component
+@ConditionalOnExpression("'${persistence.backend:r2dbc}' != 'ticklog'")
+public class R2dbcCurrencyCodeStore implements CurrencyCodeStore {
+
+    private final CurrencyRepository currencyRepository;
+
+    public R2dbcCurrencyCodeStore(CurrencyRepository currencyRepository) {
+        this.currencyRepository = currencyRepository;
+    }
+
+    @Override
+    public Flux<Currency> register(List<String> codes) {
+        return currencyRepository.insertMissing(codes.toArray(String[]::new))
+                .thenMany(currencyRepository.findByCodeIn(codes));
+    }
+
+    @Override
+    public Flux<Currency> findAll() {
+        return currencyRepository.findAll();
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.example.currencyrateservice.store;
+
+import com.example.currencyrateservice.data.model.CryptoRate;
+import com.example.currencyrateservice.data.model.FiatRate;
+import com.example.currencyrateservice.repository.CryptoRateRepository;
+import com.example.currencyrateservice.repository.FiatRateRepository;
+import com.example.currencyrateservice.routing.ReadRouting;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "persistence.backend", havingValue = "r2dbc", matchIfMissing = true)
+public class R2dbcRateStore implements RateStore {
+
+    private final FiatRateRepository fiatRepository;
+    private final CryptoRateRepository cryptoRepository;
+
+    public R2dbcRateStore(FiatRateRepository fiatRepository, CryptoRateRepository cryptoRepository) {
+        this.fiatRepository = fiatRepository;
+        this.cryptoRepository = cryptoRepository;
+    }
+
+    @Override
+    public Flux<FiatRate> saveFiatRates(List<FiatRate> rates) {
+        return Flux.fromIterable(rates).flatMapSequential(fiatRepository::save);
+    }
+
+    @Override
+    public Flux<CryptoRate> saveCryptoRates(List<CryptoRate> rates) {
+        return Flux.fromIterable(rates).flatMapSequential(cryptoRepository::save);
+    }
+
+    @Override
+    public Flux<FiatRate> findLatestFiatRates() {
+        return ReadRouting.onReplica(fiatRepository.findLatestUnique());
+    }
+
+    @Override
+    public Flux<CryptoRate> findLatestCryptoRates() {
+        return ReadRouting.onReplica(cryptoRepository.findLatestUnique());
+    }
+
+    @Override
+    public Flux<FiatRate> findFiatRatesSince(LocalDateTime since) {
+        return ReadRouting.onReplica(fiatRepository.findSincePerCurrency(since));
+    }
+
+    @Override
+    public Flux<CryptoRate> findCryptoRatesSince(LocalDateTime since) {
+        return ReadRouting.onReplica(cryptoRepository.findSincePerCurrency(since));
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.currencyrateservice.store;
+
+import com.example.currencyrateservice.data.model.CryptoRate;
+import com.example.currencyrateservice.data.model.FiatRate;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RateStore {
+
+    Flux<FiatRate> saveFiatRates(List<FiatRate> rates);
+    Flux<CryptoRate> saveCryptoRates(List<CryptoRate> rates);
+    Flux<FiatRate> findLatestFiatRates();
+    Flux<CryptoRate> findLatestCryptoRates();
+    Flux<FiatRate> findFiatRatesSince(LocalDateTime since);
+    Flux<CryptoRate> findCryptoRatesSince(LocalDateTime since);
+
+}
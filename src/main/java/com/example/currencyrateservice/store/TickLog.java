@@ -0,0 +1,247 @@
+package com.example.currencyrateservice.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Slf4j
+public class TickLog implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int indexInterval;
+    private final boolean fsync;
+    private final List<TickLogSegment> segments = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TickLog(Path directory, long segmentBytes, int indexInterval, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.indexInterval = indexInterval;
+        this.fsync = fsync;
+
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            segments.add(TickLogSegment.recover(file, baseSequenceOf(file), indexInterval, i == files.size() - 1));
+        }
+        if (segments.isEmpty()) {
+            segments.add(newSegment(0));
+        }
+        log.info("Opened tick log {} with {} segment(s), next sequence {}",
+                directory, segments.size(), active().nextSequence());
+    }
+
+    public List<Tick> append(List<Tick> ticks) throws IOException {
+        if (ticks.isEmpty()) {
+            return List.of();
+        }
+        lock.writeLock().lock();
+        try {
+            long batchBytes = (long) ticks.size() * TickLogSegment.RECORD_BYTES;
+            if (active().size() > 0 && active().size() + batchBytes > segmentBytes) {
+                roll();
+            }
+            TickLogSegment segment = active();
+            long sequence = segment.nextSequence();
+            segment.append(ticks, fsync);
+
+            List<Tick> appended = new ArrayList<>(ticks.size());
+            for (Tick tick : ticks) {
+                appended.add(new Tick(sequence++, tick.currencyId(), tick.epochMillis(), tick.scaledRate()));
+            }
+            return appended;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Tick latest(short currencyId) {
+        lock.readLock().lock();
+        try {
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                Tick tick = segments.get(i).latest(currencyId);
+                if (tick != null) {
+                    return tick;
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Collection<Tick> latestAll() {
+        lock.readLock().lock();
+        try {
+            Map<Short, Tick> latest = new HashMap<>();
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                TickLogSegment segment = segments.get(i);
+                for (Short currencyId : segment.currencyIds()) {
+                    if (!latest.containsKey(currencyId)) {
+                        latest.put(currencyId, segment.latest(currencyId));
+                    }
+                }
+            }
+            return latest.values();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Tick> range(short currencyId, long fromMillis, long toMillis) {
+        lock.readLock().lock();
+        try {
+            List<Tick> ticks = new ArrayList<>();
+            for (TickLogSegment segment : segments) {
+                segment.range(currencyId, fromMillis, toMillis, ticks::add);
+            }
+            return ticks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Tick> since(long fromMillis) {
+        lock.readLock().lock();
+        try {
+            List<Tick> ticks = new ArrayList<>();
+            for (TickLogSegment segment : segments) {
+                segment.since(fromMillis, ticks::add);
+            }
+            return ticks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int maintain(long nowMillis, long rollAfterMillis, long retainMillis) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (active().createdMillis() == Long.MIN_VALUE) {
+                active().createdAt(nowMillis);
+            }
+            if (active().size() > 0 && nowMillis - active().createdMillis() >= rollAfterMillis) {
+                roll();
+                active().createdAt(nowMillis);
+            }
+
+            int deleted = 0;
+            TickLogSegment carrySegment = null;
+            while (segments.size() > 1 && lastTouchedMillis(segments.getFirst()) < nowMillis - retainMillis) {
+                TickLogSegment expired = segments.getFirst();
+                List<Tick> carried = latestOnlyIn(expired);
+                if (!carried.isEmpty()) {
+                    if (carrySegment == null) {
+                        if (active().size() > 0) {
+                            roll();
+                        }
+                        carrySegment = active();
+                        carrySegment.createdAt(nowMillis);
+                    }
+                    carrySegment.append(carried, true);
+                }
+                segments.removeFirst();
+                expired.delete();
+                deleted++;
+            }
+            if (deleted > 0) {
+                log.info("Deleted {} expired tick log segment(s) from {}", deleted, directory);
+            }
+            return deleted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            for (TickLogSegment segment : segments) {
+                segment.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void roll() throws IOException {
+        TickLogSegment sealed = active();
+        sealed.seal();
+        segments.add(newSegment(sealed.nextSequence()));
+        log.debug("Rolled tick log segment in {} at sequence {}", directory, sealed.nextSequence());
+    }
+
+    private List<Tick> latestOnlyIn(TickLogSegment expired) {
+        Set<Short> newerCurrencies = new HashSet<>();
+        for (int i = 1; i < segments.size(); i++) {
+            newerCurrencies.addAll(segments.get(i).currencyIds());
+        }
+        List<Tick> carried = new ArrayList<>();
+        for (Short currencyId : expired.currencyIds()) {
+            if (!newerCurrencies.contains(currencyId)) {
+                carried.add(expired.latest(currencyId));
+            }
+        }
+        return carried;
+    }
+
+    private static long lastTouchedMillis(TickLogSegment segment) {
+        return Math.max(segment.maxMillis(), segment.createdMillis());
+    }
+
+    private TickLogSegment active() {
+        return segments.getLast();
+    }
+
+    private TickLogSegment newSegment(long baseSequence) throws IOException {
+        return TickLogSegment.create(directory.resolve(String.format("%020d%s", baseSequence, SEGMENT_SUFFIX)),
+                baseSequence, indexInterval);
+    }
+
+    private static long baseSequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    public record Tick(long sequence, short currencyId, long epochMillis, long scaledRate) {
+
+        public static Tick of(short currencyId, long epochMillis, long scaledRate) {
+            return new Tick(-1, currencyId, epochMillis, scaledRate);
+        }
+
+    }
+
+}
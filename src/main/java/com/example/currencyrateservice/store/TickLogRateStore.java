@@ -0,0 +1,178 @@
+package com.example.currencyrateservice.store;
+
+import com.example.currencyrateservice.data.model.CryptoRate;
+import com.example.currencyrateservice.data.model.FiatRate;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "persistence.backend", havingValue = "ticklog")
+public class TickLogRateStore implements RateStore {
+
+    private static final int RATE_SCALE = 8;
+
+    private final TickLog fiatLog;
+    private final TickLog cryptoLog;
+    private final Duration rollInterval;
+    private final Duration retention;
+    private final Duration maintenanceInterval;
+    private Disposable maintenance;
+
+    public TickLogRateStore(@Value("${ticklog.directory:ticklog}") Path directory,
+                            @Value("${ticklog.segment-bytes:67108864}") long segmentBytes,
+                            @Value("${ticklog.index-interval:32}") int indexInterval,
+                            @Value("${ticklog.fsync:true}") boolean fsync,
+                            @Value("${ticklog.roll-interval:PT1H}") Duration rollInterval,
+                            @Value("${ticklog.retention:P30D}") Duration retention,
+                            @Value("${ticklog.maintenance-interval:PT1M}") Duration maintenanceInterval,
+                            MeterRegistry meterRegistry) throws IOException {
+        this.fiatLog = new TickLog(directory.resolve("fiat"), segmentBytes, indexInterval, fsync);
+        this.cryptoLog = new TickLog(directory.resolve("crypto"), segmentBytes, indexInterval, fsync);
+        this.rollInterval = rollInterval;
+        this.retention = retention;
+        this.maintenanceInterval = maintenanceInterval;
+        Gauge.builder("ticklog.segments", fiatLog, TickLog::segmentCount)
+                .description("Segments held by the tick log")
+                .tag("type", "fiat")
+                .register(meterRegistry);
+        Gauge.builder("ticklog.segments", cryptoLog, TickLog::segmentCount)
+                .description("Segments held by the tick log")
+                .tag("type", "crypto")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Flux<FiatRate> saveFiatRates(List<FiatRate> rates) {
+        return append(fiatLog, rates, rate -> toTick(rate.getCurrencyId(), rate.getRate(), rate.getCreatedAt()),
+                this::toFiatRate);
+    }
+
+    @Override
+    public Flux<CryptoRate> saveCryptoRates(List<CryptoRate> rates) {
+        return append(cryptoLog, rates, rate -> toTick(rate.getCurrencyId(), rate.getRate(), rate.getCreatedAt()),
+                this::toCryptoRate);
+    }
+
+    @Override
+    public Flux<FiatRate> findLatestFiatRates() {
+        return read(() -> List.copyOf(fiatLog.latestAll()), this::toFiatRate);
+    }
+
+    @Override
+    public Flux<CryptoRate> findLatestCryptoRates() {
+        return read(() -> List.copyOf(cryptoLog.latestAll()), this::toCryptoRate);
+    }
+
+    @Override
+    public Flux<FiatRate> findFiatRatesSince(LocalDateTime since) {
+        return read(() -> fiatLog.since(toMillis(since)), this::toFiatRate);
+    }
+
+    @Override
+    public Flux<CryptoRate> findCryptoRatesSince(LocalDateTime since) {
+        return read(() -> cryptoLog.since(toMillis(since)), this::toCryptoRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMaintenance() {
+        maintenance = Flux.interval(maintenanceInterval, maintenanceInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromRunnable(this::maintain)
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .onErrorResume(e -> {
+                            log.warn("Tick log maintenance failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (maintenance != null) {
+            maintenance.dispose();
+        }
+        fiatLog.close();
+        cryptoLog.close();
+    }
+
+    private void maintain() {
+        long now = toMillis(LocalDateTime.now());
+        try {
+            fiatLog.maintain(now, rollInterval.toMillis(), retention.toMillis());
+            cryptoLog.maintain(now, rollInterval.toMillis(), retention.toMillis());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not maintain tick log", e);
+        }
+    }
+
+    private <T> Flux<T> append(TickLog tickLog,
+                               List<T> rates,
+                               Function<T, TickLog.Tick> toTick,
+                               Function<TickLog.Tick, T> fromTick) {
+        if (rates.isEmpty()) {
+            return Flux.empty();
+        }
+        return read(() -> tickLog.append(rates.stream().map(toTick).toList()), fromTick);
+    }
+
+    private <T> Flux<T> read(Callable<List<TickLog.Tick>> query, Function<TickLog.Tick, T> fromTick) {
+        return Mono.fromCallable(query)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(Function.identity())
+                .map(fromTick);
+    }
+
+    private FiatRate toFiatRate(TickLog.Tick tick) {
+        return new FiatRate(tick.sequence(), tick.currencyId(), toRate(tick.scaledRate()), toDateTime(tick.epochMillis()));
+    }
+
+    private CryptoRate toCryptoRate(TickLog.Tick tick) {
+        return new CryptoRate(tick.sequence(), tick.currencyId(), toRate(tick.scaledRate()), toDateTime(tick.epochMillis()));
+    }
+
+    private static TickLog.Tick toTick(short currencyId, BigDecimal rate, LocalDateTime createdAt) {
+        try {
+            return TickLog.Tick.of(currencyId, toMillis(createdAt),
+                    rate.setScale(RATE_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Rate " + rate + " does not fit the tick log encoding", e);
+        }
+    }
+
+    private static BigDecimal toRate(long scaledRate) {
+        return BigDecimal.valueOf(scaledRate, RATE_SCALE);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+}
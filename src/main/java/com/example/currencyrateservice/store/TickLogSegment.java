@@ -0,0 +1,265 @@
+package com.example.currencyrateservice.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+@Slf4j
+class TickLogSegment implements Closeable {
+
+    static final int RECORD_BYTES = 22;
+    private static final int PAYLOAD_BYTES = 18;
+
+    private final Path path;
+    private final long baseSequence;
+    private final int indexInterval;
+    private final FileChannel channel;
+    private final Map<Short, CurrencyIndex> index = new HashMap<>();
+    private long size;
+    private long minMillis = Long.MAX_VALUE;
+    private long maxMillis = Long.MIN_VALUE;
+    private long createdMillis = Long.MIN_VALUE;
+    private MappedByteBuffer mapped;
+    private long mappedSize = -1;
+
+    private TickLogSegment(Path path, long baseSequence, int indexInterval) throws IOException {
+        this.path = path;
+        this.baseSequence = baseSequence;
+        this.indexInterval = indexInterval;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    static TickLogSegment create(Path path, long baseSequence, int indexInterval) throws IOException {
+        return new TickLogSegment(path, baseSequence, indexInterval);
+    }
+
+    static TickLogSegment recover(Path path, long baseSequence, int indexInterval, boolean tail) throws IOException {
+        TickLogSegment segment = new TickLogSegment(path, baseSequence, indexInterval);
+        long fileSize = segment.channel.size();
+        if (fileSize == 0) {
+            return segment;
+        }
+
+        ByteBuffer view = segment.channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        long offset = 0;
+        while (offset + RECORD_BYTES <= fileSize && isValid(view, (int) offset)) {
+            segment.indexRecord(offset, view.getShort((int) offset), view.getLong((int) offset + 2));
+            offset += RECORD_BYTES;
+        }
+        segment.size = offset;
+
+        if (offset < fileSize) {
+            if (tail) {
+                log.warn("Truncating {} bytes of incomplete or corrupt records from {}", fileSize - offset, path);
+                segment.channel.truncate(offset);
+                segment.channel.force(true);
+            } else {
+                log.error("Ignoring {} unreadable bytes at the end of sealed segment {}", fileSize - offset, path);
+            }
+        }
+        segment.channel.position(segment.size);
+        return segment;
+    }
+
+    void append(List<TickLog.Tick> ticks, boolean fsync) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ticks.size() * RECORD_BYTES);
+        CRC32C crc = new CRC32C();
+        for (TickLog.Tick tick : ticks) {
+            int start = buffer.position();
+            buffer.putShort(tick.currencyId())
+                    .putLong(tick.epochMillis())
+                    .putLong(tick.scaledRate());
+            crc.reset();
+            crc.update(buffer.array(), start, PAYLOAD_BYTES);
+            buffer.putInt((int) crc.getValue());
+        }
+        buffer.flip();
+
+        long offset = size;
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, offset + buffer.position());
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+        for (TickLog.Tick tick : ticks) {
+            indexRecord(offset, tick.currencyId(), tick.epochMillis());
+            offset += RECORD_BYTES;
+        }
+        size = offset;
+    }
+
+    TickLog.Tick read(long offset) {
+        ByteBuffer view = view();
+        int position = (int) offset;
+        return new TickLog.Tick(baseSequence + offset / RECORD_BYTES,
+                view.getShort(position), view.getLong(position + 2), view.getLong(position + 10));
+    }
+
+    TickLog.Tick latest(short currencyId) {
+        CurrencyIndex currencyIndex = index.get(currencyId);
+        return currencyIndex == null ? null : read(currencyIndex.lastOffset);
+    }
+
+    void range(short currencyId, long fromMillis, long toMillis, Consumer<TickLog.Tick> consumer) {
+        CurrencyIndex currencyIndex = index.get(currencyId);
+        if (currencyIndex == null || fromMillis > maxMillis || toMillis < minMillis) {
+            return;
+        }
+        ByteBuffer view = view();
+        for (long offset = currencyIndex.startOffset(fromMillis); offset <= currencyIndex.lastOffset; offset += RECORD_BYTES) {
+            int position = (int) offset;
+            long epochMillis = view.getLong(position + 2);
+            if (view.getShort(position) == currencyId && epochMillis >= fromMillis && epochMillis <= toMillis) {
+                consumer.accept(new TickLog.Tick(baseSequence + offset / RECORD_BYTES,
+                        currencyId, epochMillis, view.getLong(position + 10)));
+            }
+        }
+    }
+
+    void since(long fromMillis, Consumer<TickLog.Tick> consumer) {
+        if (fromMillis > maxMillis) {
+            return;
+        }
+        long start = index.values().stream()
+                .mapToLong(currencyIndex -> currencyIndex.startOffset(fromMillis))
+                .min()
+                .orElse(0);
+        ByteBuffer view = view();
+        for (long offset = start; offset < size; offset += RECORD_BYTES) {
+            int position = (int) offset;
+            long epochMillis = view.getLong(position + 2);
+            if (epochMillis >= fromMillis) {
+                consumer.accept(new TickLog.Tick(baseSequence + offset / RECORD_BYTES,
+                        view.getShort(position), epochMillis, view.getLong(position + 10)));
+            }
+        }
+    }
+
+    void seal() throws IOException {
+        channel.force(true);
+        view();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public void close() throws IOException {
+        mapped = null;
+        channel.close();
+    }
+
+    Set<Short> currencyIds() {
+        return index.keySet();
+    }
+
+    long baseSequence() {
+        return baseSequence;
+    }
+
+    long nextSequence() {
+        return baseSequence + size / RECORD_BYTES;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long minMillis() {
+        return minMillis;
+    }
+
+    long maxMillis() {
+        return maxMillis;
+    }
+
+    long createdMillis() {
+        return createdMillis;
+    }
+
+    void createdAt(long epochMillis) {
+        createdMillis = epochMillis;
+    }
+
+    private synchronized ByteBuffer view() {
+        if (mappedSize != size) {
+            try {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                mappedSize = size;
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not map tick log segment " + path, e);
+            }
+        }
+        return mapped.duplicate();
+    }
+
+    private void indexRecord(long offset, short currencyId, long epochMillis) {
+        index.computeIfAbsent(currencyId, id -> new CurrencyIndex()).add(offset, epochMillis, indexInterval);
+        minMillis = Math.min(minMillis, epochMillis);
+        maxMillis = Math.max(maxMillis, epochMillis);
+    }
+
+    private static boolean isValid(ByteBuffer view, int position) {
+        CRC32C crc = new CRC32C();
+        crc.update(view.slice(position, PAYLOAD_BYTES));
+        return (int) crc.getValue() == view.getInt(position + PAYLOAD_BYTES);
+    }
+
+    private static final class CurrencyIndex {
+
+        private long[] sampleMillis = new long[8];
+        private long[] sampleOffsets = new long[8];
+        private int samples;
+        private long records;
+        private long lastOffset;
+
+        private void add(long offset, long epochMillis, int interval) {
+            if (records % interval == 0) {
+                if (samples == sampleMillis.length) {
+                    sampleMillis = Arrays.copyOf(sampleMillis, samples * 2);
+                    sampleOffsets = Arrays.copyOf(sampleOffsets, samples * 2);
+                }
+                sampleMillis[samples] = epochMillis;
+                sampleOffsets[samples] = offset;
+                samples++;
+            }
+            records++;
+            lastOffset = offset;
+        }
+
+        private long startOffset(long fromMillis) {
+            int low = 0;
+            int high = samples - 1;
+            int found = 0;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (sampleMillis[middle] < fromMillis) {
+                    found = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return sampleOffsets[found];
+        }
+
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.example.currencyrateservice.tracing;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class RequestTiming {
+
+    public static final String CONTEXT_KEY = RequestTiming.class.getName();
+    public static final String HANDLER_STAGE = "handler";
+    public static final String SERIALIZATION_STAGE = "serialize";
+
+    private final long startedAt = System.nanoTime();
+    private final List<Stage> stages = new ArrayList<>(8);
+    private long committedAt;
+
+    public static <T> Mono<T> timed(String stage, Mono<T> mono) {
+        return Mono.deferContextual(context -> context.<RequestTiming>getOrEmpty(CONTEXT_KEY)
+                .map(timing -> {
+                    long[] subscribedAt = new long[1];
+                    return mono.doOnSubscribe(s -> subscribedAt[0] = System.nanoTime())
+                            .doOnTerminate(() -> timing.record(stage, subscribedAt[0], System.nanoTime()))
+                            .doOnCancel(() -> timing.record(stage, subscribedAt[0], System.nanoTime()));
+                })
+                .orElse(mono));
+    }
+
+    public static <T> Flux<T> timed(String stage, Flux<T> flux) {
+        return Flux.deferContextual(context -> context.<RequestTiming>getOrEmpty(CONTEXT_KEY)
+                .map(timing -> {
+                    long[] subscribedAt = new long[1];
+                    return flux.doOnSubscribe(s -> subscribedAt[0] = System.nanoTime())
+                            .doOnTerminate(() -> timing.record(stage, subscribedAt[0], System.nanoTime()))
+                            .doOnCancel(() -> timing.record(stage, subscribedAt[0], System.nanoTime()));
+                })
+                .orElse(flux));
+    }
+
+    public synchronized void record(String stage, long startNanos, long endNanos) {
+        for (int i = 0; i < stages.size(); i++) {
+            Stage recorded = stages.get(i);
+            if (recorded.name().equals(stage)) {
+                stages.set(i, new Stage(stage, recorded.startNanos(), recorded.endNanos() + (endNanos - startNanos)));
+                return;
+            }
+        }
+        int position = stages.size();
+        while (position > 0 && stages.get(position - 1).startNanos() > startNanos) {
+            position--;
+        }
+        stages.add(position, new Stage(stage, startNanos, endNanos));
+    }
+
+    public synchronized void markCommitted() {
+        committedAt = System.nanoTime();
+        findStage(HANDLER_STAGE).ifPresent(handler -> record(SERIALIZATION_STAGE, handler.endNanos(), committedAt));
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    public synchronized List<Stage> stages() {
+        return List.copyOf(stages);
+    }
+
+    public synchronized String toServerTimingHeader() {
+        long total = (committedAt > 0 ? committedAt : System.nanoTime()) - startedAt;
+        List<String> entries = new ArrayList<>(stages.size() + 1);
+        for (Stage stage : stages) {
+            entries.add(stage.name() + ";dur=" + formatMillis(stage.durationNanos()));
+        }
+        entries.add("total;dur=" + formatMillis(total));
+        return String.join(", ", entries);
+    }
+
+    public synchronized String toLogString() {
+        return stages.stream()
+                .map(stage -> stage.name() + "=" + formatMillis(stage.durationNanos()) + "ms")
+                .collect(Collectors.joining(" "));
+    }
+
+    private Optional<Stage> findStage(String name) {
+        return stages.stream().filter(stage -> stage.name().equals(name)).findFirst();
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    public record Stage(String name, long startNanos, long endNanos) {
+
+        public long durationNanos() {
+            return endNanos - startNanos;
+        }
+
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.example.currencyrateservice.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class ServerTimingFilter implements WebFilter {
+
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final boolean enabled;
+    private final long slowThresholdNanos;
+    private final double slowSampleRate;
+
+    public ServerTimingFilter(@Value("${server-timing.enabled:true}") boolean enabled,
+                              @Value("${server-timing.slow-threshold:PT1S}") Duration slowThreshold,
+                              @Value("${server-timing.slow-sample-rate:1.0}") double slowSampleRate) {
+        this.enabled = enabled;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.slowSampleRate = slowSampleRate;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+        RequestTiming timing = new RequestTiming();
+        exchange.getResponse().beforeCommit(() -> {
+            timing.markCommitted();
+            exchange.getResponse().getHeaders().set(SERVER_TIMING_HEADER, timing.toServerTimingHeader());
+            return Mono.empty();
+        });
+
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(RequestTiming.CONTEXT_KEY, timing))
+                .doFinally(signal -> logIfSlow(exchange, timing));
+    }
+
+    private void logIfSlow(ServerWebExchange exchange, RequestTiming timing) {
+        long elapsedNanos = timing.elapsedNanos();
+        if (elapsedNanos < slowThresholdNanos || ThreadLocalRandom.current().nextDouble() >= slowSampleRate) {
+            return;
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        log.warn("slow_request method={} path={} status={} total_ms={} {}",
+                request.getMethod(),
+                request.getPath().value(),
+                exchange.getResponse().getStatusCode(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                timing.toLogString());
+    }
+
+}
@@ -0,0 +1,5 @@
+CREATE INDEX idx_crypto_rate_currency_created_at
+    ON crypto_rate (currency, created_at DESC) INCLUDE (rate);
+
+CREATE INDEX idx_fiat_rate_currency_created_at
+    ON fiat_rate (currency, created_at DESC) INCLUDE (rate);
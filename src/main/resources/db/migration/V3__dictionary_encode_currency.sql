@@ -0,0 +1,53 @@
+CREATE TABLE currency (
+                          id SMALLSERIAL PRIMARY KEY,
+                          code VARCHAR(20) NOT NULL UNIQUE
+);
+
+LOCK TABLE crypto_rate, fiat_rate IN SHARE MODE;
+
+INSERT INTO currency (code)
+SELECT currency FROM fiat_rate
+UNION
+SELECT currency FROM crypto_rate
+ORDER BY 1;
+
+CREATE TABLE crypto_rate_encoded (
+                                     id BIGINT NOT NULL DEFAULT nextval('crypto_rate_id_seq'),
+                                     currency_id SMALLINT NOT NULL,
+                                     rate NUMERIC(20, 8) NOT NULL,
+                                     created_at TIMESTAMP NOT NULL
+);
+INSERT INTO crypto_rate_encoded (id, currency_id, rate, created_at)
+SELECT r.id, c.id, r.rate, r.created_at
+FROM crypto_rate r JOIN currency c ON c.code = r.currency
+ORDER BY r.id;
+ALTER SEQUENCE crypto_rate_id_seq OWNED BY NONE;
+DROP TABLE crypto_rate;
+ALTER TABLE crypto_rate_encoded RENAME TO crypto_rate;
+ALTER SEQUENCE crypto_rate_id_seq OWNED BY crypto_rate.id;
+ALTER TABLE crypto_rate ADD CONSTRAINT crypto_rate_pkey PRIMARY KEY (id);
+ALTER TABLE crypto_rate ADD CONSTRAINT fk_crypto_rate_currency FOREIGN KEY (currency_id) REFERENCES currency (id);
+CREATE INDEX idx_crypto_rate_currency_created_at
+    ON crypto_rate (currency_id, created_at DESC) INCLUDE (rate);
+
+CREATE TABLE fiat_rate_encoded (
+                                   id BIGINT NOT NULL DEFAULT nextval('fiat_rate_id_seq'),
+                                   currency_id SMALLINT NOT NULL,
+                                   rate NUMERIC(20, 8) NOT NULL,
+                                   created_at TIMESTAMP NOT NULL
+);
+INSERT INTO fiat_rate_encoded (id, currency_id, rate, created_at)
+SELECT r.id, c.id, r.rate, r.created_at
+FROM fiat_rate r JOIN currency c ON c.code = r.currency
+ORDER BY r.id;
+ALTER SEQUENCE fiat_rate_id_seq OWNED BY NONE;
+DROP TABLE fiat_rate;
+ALTER TABLE fiat_rate_encoded RENAME TO fiat_rate;
+ALTER SEQUENCE fiat_rate_id_seq OWNED BY fiat_rate.id;
+ALTER TABLE fiat_rate ADD CONSTRAINT fiat_rate_pkey PRIMARY KEY (id);
+ALTER TABLE fiat_rate ADD CONSTRAINT fk_fiat_rate_currency FOREIGN KEY (currency_id) REFERENCES currency (id);
+CREATE INDEX idx_fiat_rate_currency_created_at
+    ON fiat_rate (currency_id, created_at DESC) INCLUDE (rate);
+
+ANALYZE crypto_rate;
+ANALYZE fiat_rate;
@@ -0,0 +1,10 @@
+CREATE TABLE alert_rule (
+                            id BIGSERIAL PRIMARY KEY,
+                            rate_type VARCHAR(10) NOT NULL,
+                            currency VARCHAR(20) NOT NULL,
+                            kind VARCHAR(20) NOT NULL,
+                            threshold NUMERIC(20, 8) NOT NULL,
+                            window_seconds INTEGER,
+                            webhook_url VARCHAR(500) NOT NULL,
+                            created_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,5 @@
+CREATE TABLE compaction_checkpoint (
+                                       table_name VARCHAR(50) PRIMARY KEY,
+                                       last_id BIGINT NOT NULL,
+                                       updated_at TIMESTAMP NOT NULL
+);
@@ -1,5 +1,6 @@
 package com.example.currencyrateservice;
 
+import com.example.currencyrateservice.cache.CurrencyDictionary;
 import com.example.currencyrateservice.data.dto.CurrencyRateItem;
 import com.example.currencyrateservice.data.dto.CurrencyRateResponse;
 import com.example.currencyrateservice.data.model.CryptoRate;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -49,6 +51,9 @@ class CurrencyRateIntegrationTest {
     @Autowired
     private FiatRateRepository fiatRateRepository;
 
+    @Autowired
+    private CurrencyDictionary currencyDictionary;
+
     @SuppressWarnings("resource")
     @Container
     static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
@@ -290,6 +295,124 @@ class CurrencyRateIntegrationTest {
                 });
     }
 
+    @Test
+    void whenCsvIsPostedToBulkImport_shouldCopyRowsIntoTable() {
+        webTestClient.post()
+                .uri("/admin/import/fiat")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue("""
+                        currency,rate,created_at
+                        USD,1.10,2020-01-01 00:00:00
+                        EUR,1.20,2020-01-01 00:00:00
+                        USD,1.15,2020-01-02 00:00:00
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.table").isEqualTo("fiat_rate")
+                .jsonPath("$.rows").isEqualTo(3);
+
+        Assertions.assertEquals(3L, fiatRateRepository.count().block());
+    }
+
+    @Test
+    void whenNdjsonIsPostedToBulkImport_shouldCopyRowsIntoTable() {
+        webTestClient.post()
+                .uri("/admin/import/crypto?deferIndexes=true")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("""
+                        {"currency": "BTC", "rate": 50000.5, "createdAt": "2020-01-01T00:00:00"}
+                        {"currency": "ETH", "rate": 2000.25, "createdAt": "2020-01-01T00:00:00"}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.rows").isEqualTo(2);
+
+        Assertions.assertEquals(2L, cryptoRateRepository.count().block());
+    }
+
+    @Test
+    void whenMalformedCsvIsPostedToBulkImport_shouldReturnBadRequest() {
+        webTestClient.post()
+                .uri("/admin/import/fiat?header=false")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue("USD;1.10\n")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void whenExportIsRequested_shouldStreamRowsInRangeAsCsv() {
+        insertTestFiatBases();
+
+        String from = LocalDateTime.now().minusDays(1).toString();
+        String to = LocalDateTime.now().plusDays(1).toString();
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/admin/export/fiat")
+                        .queryParam("from", from)
+                        .queryParam("to", to)
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("text/csv")
+                .expectBody(String.class)
+                .value(body -> {
+                    assertThat(body).startsWith("currency,rate,created_at");
+                    assertThat(body).contains("USD", "EUR");
+                });
+    }
+
+    @Test
+    void whenRatesAsOfAreRequested_shouldReturnRateInEffectAtThatInstant() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        registerCurrencies("USD", "EUR");
+        fiatRateRepository.saveAll(List.of(
+                new FiatRate(null, currencyId("USD"), BigDecimal.valueOf(1.0), base),
+                new FiatRate(null, currencyId("USD"), BigDecimal.valueOf(2.0), base.plusHours(2)),
+                new FiatRate(null, currencyId("EUR"), BigDecimal.valueOf(3.0), base.plusHours(1))
+        )).collectList().block();
+
+        webTestClient.get()
+                .uri("/currency-rates/as-of?type=fiat&currency=USD&currency=EUR&at=2024-01-01T01:30:00")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[?(@.currency == 'USD')].rate").isEqualTo(1.0)
+                .jsonPath("$[?(@.currency == 'EUR')].rate").isEqualTo(3.0);
+    }
+
+    @Test
+    void whenCompactionRuns_shouldDeleteRowsIdenticalToTheirPredecessor() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        registerCurrencies("USD");
+        fiatRateRepository.saveAll(List.of(
+                new FiatRate(null, currencyId("USD"), BigDecimal.valueOf(1.0), base),
+                new FiatRate(null, currencyId("USD"), BigDecimal.valueOf(1.0), base.plusMinutes(1)),
+                new FiatRate(null, currencyId("USD"), BigDecimal.valueOf(2.0), base.plusMinutes(2)),
+                new FiatRate(null, currencyId("USD"), BigDecimal.valueOf(2.0), base.plusMinutes(3)),
+                new FiatRate(null, currencyId("USD"), BigDecimal.valueOf(1.0), base.plusMinutes(4))
+        )).collectList().block();
+
+        webTestClient.post()
+                .uri("/admin/compaction/fiat?dryRun=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.redundantRows").isEqualTo(2);
+        Assertions.assertEquals(5L, fiatRateRepository.count().block());
+
+        webTestClient.post()
+                .uri("/admin/compaction/fiat?dryRun=false")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.redundantRows").isEqualTo(2);
+        Assertions.assertEquals(3L, fiatRateRepository.count().block());
+    }
+
     private void stubForGetFiatRates() {
         stubFor(get(urlEqualTo("/fiat-currency-rates"))
                 .withHeader("X-API-KEY", equalTo("secret-key"))
@@ -337,18 +460,28 @@ class CurrencyRateIntegrationTest {
 
     private void insertTestCryptoBases() {
         LocalDateTime now = LocalDateTime.now();
+        registerCurrencies("BTC", "ETH");
         cryptoRateRepository.saveAll(List.of(
-                new CryptoRate(null, "BTC", BigDecimal.valueOf(50000.0), now),
-                new CryptoRate(null, "ETH", BigDecimal.valueOf(2000.0), now)
+                new CryptoRate(null, currencyId("BTC"), BigDecimal.valueOf(50000.0), now),
+                new CryptoRate(null, currencyId("ETH"), BigDecimal.valueOf(2000.0), now)
         )).collectList().block();
     }
 
     private void insertTestFiatBases() {
         LocalDateTime now = LocalDateTime.now();
+        registerCurrencies("USD", "EUR");
         fiatRateRepository.saveAll(List.of(
-                new FiatRate(null, "USD", BigDecimal.valueOf(120.0), now),
-                new FiatRate(null, "EUR", BigDecimal.valueOf(130.0), now)
+                new FiatRate(null, currencyId("USD"), BigDecimal.valueOf(120.0), now),
+                new FiatRate(null, currencyId("EUR"), BigDecimal.valueOf(130.0), now)
         )).collectList().block();
     }
 
+    private void registerCurrencies(String... codes) {
+        currencyDictionary.register(List.of(codes)).block();
+    }
+
+    private short currencyId(String code) {
+        return currencyDictionary.idOf(code);
+    }
+
 }
@@ -7,6 +7,9 @@ import org.springframework.boot.test.context.SpringBootTest;
         "spring.r2dbc.url=r2dbc:h2:mem:///testdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
         "spring.r2dbc.username=sa",
         "spring.r2dbc.password=",
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
         "spring.flyway.enabled=false",
         "external.currency-api.url=http://localhost:8080"
 })
@@ -0,0 +1,106 @@
+package com.example.currencyrateservice.alert;
+
+import com.example.currencyrateservice.data.dto.AlertNotification;
+import com.example.currencyrateservice.data.model.AlertKind;
+import com.example.currencyrateservice.data.model.RateType;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AlertDispatcherTest {
+
+    private static final String WEBHOOK_PATH = "/alerts";
+    private static final String WEBHOOK = "http://localhost:9574" + WEBHOOK_PATH;
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_RETRIES = 2;
+
+    private static WireMockServer wireMockServer;
+
+    private MeterRegistry meterRegistry;
+    private AlertDispatcher dispatcher;
+
+    @BeforeAll
+    static void beforeAll() {
+        wireMockServer = new WireMockServer(9574);
+        wireMockServer.start();
+        WireMock.configureFor("localhost", 9574);
+    }
+
+    @AfterAll
+    static void afterAll() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        WireMock.reset();
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new AlertDispatcher(WebClient.builder(), meterRegistry, BATCH_SIZE, 10_000,
+                Duration.ofSeconds(1), MAX_RETRIES, Duration.ofMillis(10));
+    }
+
+    @Test
+    void flush_whenBacklogExceedsBatchSize_shouldDrainWholeQueue() {
+        stubFor(post(urlEqualTo(WEBHOOK_PATH)).willReturn(aResponse().withStatus(200)));
+        for (int i = 0; i < 5 * BATCH_SIZE + 1; i++) {
+            dispatcher.enqueue(WEBHOOK, notification(i));
+        }
+
+        StepVerifier.create(dispatcher.flush()).verifyComplete();
+
+        verify(exactly(6), postRequestedFor(urlEqualTo(WEBHOOK_PATH)));
+        assertEquals(5 * BATCH_SIZE + 1, outcome("delivered"));
+    }
+
+    @Test
+    void flush_whenWebhookRejectsRequest_shouldNotRetry() {
+        stubFor(post(urlEqualTo(WEBHOOK_PATH)).willReturn(aResponse().withStatus(400)));
+        dispatcher.enqueue(WEBHOOK, notification(1));
+
+        StepVerifier.create(dispatcher.flush()).verifyComplete();
+
+        verify(exactly(1), postRequestedFor(urlEqualTo(WEBHOOK_PATH)));
+        assertEquals(1, outcome("failed"));
+    }
+
+    @Test
+    void flush_whenWebhookFailsWithServerError_shouldRetry() {
+        stubFor(post(urlEqualTo(WEBHOOK_PATH)).willReturn(aResponse().withStatus(503)));
+        dispatcher.enqueue(WEBHOOK, notification(1));
+
+        StepVerifier.create(dispatcher.flush()).verifyComplete();
+
+        verify(exactly(MAX_RETRIES + 1), postRequestedFor(urlEqualTo(WEBHOOK_PATH)));
+        assertEquals(1, outcome("failed"));
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("currency.rates.alerts.notifications").tag("outcome", outcome).counter().count();
+    }
+
+    private static AlertNotification notification(long ruleId) {
+        return new AlertNotification(ruleId, RateType.CRYPTO, "BTC", AlertKind.CROSSES_ABOVE,
+                new BigDecimal("60000"), new BigDecimal("60001"), LocalDateTime.now());
+    }
+
+}
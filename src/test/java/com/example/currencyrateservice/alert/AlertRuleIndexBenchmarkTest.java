@@ -0,0 +1,75 @@
+package com.example.currencyrateservice.alert;
+
+import com.example.currencyrateservice.cache.RecentTickStore;
+import com.example.currencyrateservice.data.model.AlertKind;
+import com.example.currencyrateservice.data.model.AlertRule;
+import com.example.currencyrateservice.data.model.RateType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AlertRuleIndexBenchmarkTest {
+
+    private static final List<Integer> RULE_COUNTS = List.of(100, 1_000, 10_000, 100_000, 1_000_000);
+    private static final int TICKS = 20_000;
+    private static final String WEBHOOK = "http://localhost:9000/alerts";
+
+    @Test
+    void onTickCostByRuleCount() {
+        for (int round = 0; round < 2; round++) {
+            for (int ruleCount : RULE_COUNTS) {
+                run(ruleCount, round == 0);
+            }
+        }
+    }
+
+    private void run(int ruleCount, boolean warmup) {
+        AlertDispatcher dispatcher = new AlertDispatcher(WebClient.builder(), new SimpleMeterRegistry(),
+                100, 1_000, Duration.ofSeconds(1), 0, Duration.ofMillis(10));
+        AlertRuleIndex index = new AlertRuleIndex(new RecentTickStore(64), dispatcher);
+        LocalDateTime createdAt = LocalDateTime.now();
+        for (long id = 1; id <= ruleCount; id++) {
+            AlertKind kind = id % 2 == 0 ? AlertKind.CROSSES_ABOVE : AlertKind.CROSSES_BELOW;
+            BigDecimal threshold = BigDecimal.valueOf(50_000 + id % 20_000);
+            index.add(new AlertRule(id, RateType.CRYPTO, "BTC", kind, threshold, null, WEBHOOK, createdAt));
+        }
+
+        Random random = new Random(42);
+        long scaledRate = 6_000_000;
+        long[] tickNanos = new long[TICKS];
+        for (int i = 0; i < TICKS; i++) {
+            scaledRate += random.nextInt(201) - 100;
+            BigDecimal rate = BigDecimal.valueOf(scaledRate, 2);
+            long startedAt = System.nanoTime();
+            index.onTick(RateType.CRYPTO, "BTC", rate);
+            tickNanos[i] = System.nanoTime() - startedAt;
+        }
+
+        if (!warmup) {
+            log.info("{} rules: tick p50 {} us, p99 {} us",
+                    ruleCount, micros(percentile(tickNanos, 0.50)), micros(percentile(tickNanos, 0.99)));
+        }
+    }
+
+    private static long percentile(long[] samples, double percentile) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.2f", nanos / 1_000.0);
+    }
+
+}
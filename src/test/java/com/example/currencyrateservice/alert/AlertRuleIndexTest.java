@@ -0,0 +1,100 @@
+package com.example.currencyrateservice.alert;
+
+import com.example.currencyrateservice.cache.RecentTickStore;
+import com.example.currencyrateservice.data.dto.AlertNotification;
+import com.example.currencyrateservice.data.model.AlertKind;
+import com.example.currencyrateservice.data.model.AlertRule;
+import com.example.currencyrateservice.data.model.RateType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AlertRuleIndexTest {
+
+    private static final String WEBHOOK = "http://localhost:9000/alerts";
+
+    @Mock
+    private AlertDispatcher dispatcher;
+
+    private RecentTickStore tickStore;
+    private AlertRuleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        tickStore = new RecentTickStore(64);
+        index = new AlertRuleIndex(tickStore, dispatcher);
+    }
+
+    @Test
+    void onTick_shouldFireOnlyRulesWhoseThresholdWasCrossed() {
+        for (long i = 1; i <= 10_000; i++) {
+            index.add(rule(i, AlertKind.CROSSES_ABOVE, BigDecimal.valueOf(60_000 + i), null));
+        }
+
+        index.onTick(RateType.CRYPTO, "BTC", new BigDecimal("65000"));
+        index.onTick(RateType.CRYPTO, "BTC", new BigDecimal("65002.5"));
+
+        ArgumentCaptor<AlertNotification> notifications = ArgumentCaptor.forClass(AlertNotification.class);
+        verify(dispatcher, times(2)).enqueue(anyString(), notifications.capture());
+        assertEquals(5001L, notifications.getAllValues().get(0).ruleId());
+        assertEquals(5002L, notifications.getAllValues().get(1).ruleId());
+    }
+
+    @Test
+    void onTick_whenRateFallsBelowThreshold_shouldFireOnceUntilCrossedAgain() {
+        index.add(rule(1L, AlertKind.CROSSES_BELOW, new BigDecimal("60000"), null));
+
+        index.onTick(RateType.CRYPTO, "BTC", new BigDecimal("60500"));
+        index.onTick(RateType.CRYPTO, "BTC", new BigDecimal("59900"));
+        index.onTick(RateType.CRYPTO, "BTC", new BigDecimal("59800"));
+
+        verify(dispatcher, times(1)).enqueue(anyString(), any());
+    }
+
+    @Test
+    void onTick_whenMoveExceedsPercentInWindow_shouldFire() {
+        index.add(rule(1L, AlertKind.MOVES_PERCENT, BigDecimal.ONE, 600));
+        LocalDateTime now = LocalDateTime.now();
+
+        tickStore.record(RateType.CRYPTO, "BTC", new BigDecimal("100"), now.minusMinutes(2));
+        index.onTick(RateType.CRYPTO, "BTC", new BigDecimal("100"));
+        tickStore.record(RateType.CRYPTO, "BTC", new BigDecimal("100.5"), now.minusMinutes(1));
+        index.onTick(RateType.CRYPTO, "BTC", new BigDecimal("100.5"));
+        verify(dispatcher, never()).enqueue(anyString(), any());
+
+        tickStore.record(RateType.CRYPTO, "BTC", new BigDecimal("101.5"), now);
+        index.onTick(RateType.CRYPTO, "BTC", new BigDecimal("101.5"));
+        verify(dispatcher, times(1)).enqueue(anyString(), any());
+    }
+
+    @Test
+    void remove_shouldStopRuleFromFiring() {
+        index.add(rule(1L, AlertKind.CROSSES_ABOVE, new BigDecimal("70000"), null));
+        index.remove(1L);
+
+        index.onTick(RateType.CRYPTO, "BTC", new BigDecimal("69000"));
+        index.onTick(RateType.CRYPTO, "BTC", new BigDecimal("71000"));
+
+        verify(dispatcher, never()).enqueue(anyString(), any());
+        assertEquals(0, index.size());
+    }
+
+    private static AlertRule rule(Long id, AlertKind kind, BigDecimal threshold, Integer windowSeconds) {
+        return new AlertRule(id, RateType.CRYPTO, "BTC", kind, threshold, windowSeconds, WEBHOOK, LocalDateTime.now());
+    }
+
+}
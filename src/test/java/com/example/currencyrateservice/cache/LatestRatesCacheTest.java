@@ -0,0 +1,90 @@
+package com.example.currencyrateservice.cache;
+
+import com.example.currencyrateservice.data.dto.CurrencyRateItem;
+import com.example.currencyrateservice.data.dto.CurrencyRateResponse;
+import com.example.currencyrateservice.data.dto.RateChangesResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatestRatesCacheTest {
+
+    @Test
+    void changesSince_shouldReturnOnlyChangedCurrencies() {
+        LatestRatesCache cache = new LatestRatesCache(100);
+        cache.update(response(List.of(item("USD", "1.0"), item("EUR", "0.9")), List.of(item("BTC", "60000"))));
+        String first = cache.version();
+        cache.update(response(List.of(item("USD", "1.0"), item("EUR", "0.91")), List.of(item("BTC", "60000"))));
+        cache.update(response(List.of(item("USD", "1.0"), item("EUR", "0.92")), List.of(item("BTC", "61000"))));
+
+        RateChangesResponse changes = cache.changesSince(first);
+
+        assertEquals(cache.version(), changes.version());
+        assertFalse(changes.full());
+        assertEquals(List.of(item("EUR", "0.92")), changes.fiat());
+        assertEquals(List.of(item("BTC", "61000")), changes.crypto());
+        assertTrue(cache.changesSince(cache.version()).fiat().isEmpty());
+    }
+
+    @Test
+    void changesSince_whenVersionEvictedOrUnknown_shouldReturnFullSnapshot() {
+        LatestRatesCache cache = new LatestRatesCache(2);
+        cache.update(response(List.of(item("USD", "1.0"), item("EUR", "0.9")), List.of()));
+        String first = cache.version();
+        cache.update(response(List.of(item("USD", "1.1"), item("EUR", "0.91")), List.of()));
+        String second = cache.version();
+        cache.update(response(List.of(item("USD", "1.2"), item("EUR", "0.92")), List.of()));
+
+        RateChangesResponse evicted = cache.changesSince(first);
+        RateChangesResponse unknown = cache.changesSince(cache.version().replaceFirst("-\\d+$", "-42"));
+
+        assertTrue(evicted.full());
+        assertEquals(2, evicted.fiat().size());
+        assertTrue(unknown.full());
+        assertFalse(cache.changesSince(second).full());
+    }
+
+    @Test
+    void changesSince_whenTokenFromAnotherProcess_shouldReturnFullSnapshot() {
+        LatestRatesCache other = new LatestRatesCache(100);
+        other.update(response(List.of(item("USD", "1.0")), List.of()));
+        LatestRatesCache cache = new LatestRatesCache(100);
+        cache.update(response(List.of(item("USD", "1.0"), item("EUR", "0.9")), List.of()));
+        cache.update(response(List.of(item("USD", "1.1"), item("EUR", "0.9")), List.of()));
+
+        RateChangesResponse changes = cache.changesSince(other.version());
+
+        assertTrue(changes.full());
+        assertEquals(2, changes.fiat().size());
+        assertTrue(cache.changesSince("0").full());
+    }
+
+    @Test
+    void changesSince_shouldReportRemovedCurrencies() {
+        LatestRatesCache cache = new LatestRatesCache(100);
+        cache.update(response(List.of(item("USD", "1.0"), item("EUR", "0.9")), List.of(item("BTC", "60000"))));
+        String first = cache.version();
+        cache.update(response(List.of(item("USD", "1.0")), List.of(item("BTC", "60000"))));
+
+        RateChangesResponse changes = cache.changesSince(first);
+
+        assertFalse(changes.full());
+        assertTrue(changes.fiat().isEmpty());
+        assertEquals(List.of("EUR"), changes.removedFiat());
+        assertTrue(changes.removedCrypto().isEmpty());
+    }
+
+    private static CurrencyRateResponse response(List<CurrencyRateItem> fiat, List<CurrencyRateItem> crypto) {
+        return new CurrencyRateResponse(fiat, crypto);
+    }
+
+    private static CurrencyRateItem item(String currency, String rate) {
+        return new CurrencyRateItem(currency, new BigDecimal(rate));
+    }
+
+}
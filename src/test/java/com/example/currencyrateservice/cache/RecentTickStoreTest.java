@@ -0,0 +1,54 @@
+package com.example.currencyrateservice.cache;
+
+import com.example.currencyrateservice.data.dto.RateWindowStats;
+import com.example.currencyrateservice.data.model.RateType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecentTickStoreTest {
+
+    private final RecentTickStore store = new RecentTickStore(16);
+
+    @Test
+    void stats_shouldSummarizeTicksInsideWindow() {
+        LocalDateTime now = LocalDateTime.now();
+        store.record(RateType.CRYPTO, "BTC", new BigDecimal("100"), now.minusHours(2));
+        store.record(RateType.CRYPTO, "BTC", new BigDecimal("200"), now.minusMinutes(10));
+        store.record(RateType.CRYPTO, "BTC", new BigDecimal("400"), now.minusMinutes(5));
+        store.record(RateType.CRYPTO, "BTC", new BigDecimal("300"), now.minusMinutes(1));
+
+        RateWindowStats stats = store.stats(RateType.CRYPTO, "BTC", Duration.ofMinutes(15)).orElseThrow();
+
+        assertEquals(3, stats.count());
+        assertEquals(0, new BigDecimal("200").compareTo(stats.min()));
+        assertEquals(0, new BigDecimal("400").compareTo(stats.max()));
+        assertEquals(0, new BigDecimal("300").compareTo(stats.average()));
+        assertEquals(0, new BigDecimal("100").compareTo(stats.change()));
+        assertEquals(0, new BigDecimal("-100").compareTo(stats.lastChange()));
+    }
+
+    @Test
+    void recent_whenCurrencyUnknown_shouldReturnEmpty() {
+        assertTrue(store.recent(RateType.FIAT, "USD", Duration.ofMinutes(15)).isEmpty());
+        assertTrue(store.stats(RateType.FIAT, "USD", Duration.ofMinutes(15)).isEmpty());
+    }
+
+    @Test
+    void stats_whenScaledSumExceedsLong_shouldStillAverage() {
+        LocalDateTime now = LocalDateTime.now();
+        store.record(RateType.CRYPTO, "BIG", new BigDecimal("90000000000"), now.minusMinutes(3));
+        store.record(RateType.CRYPTO, "BIG", new BigDecimal("90000000000"), now.minusMinutes(2));
+        store.record(RateType.CRYPTO, "BIG", new BigDecimal("-0.5"), now.minusMinutes(1));
+
+        RateWindowStats stats = store.stats(RateType.CRYPTO, "BIG", Duration.ofMinutes(15)).orElseThrow();
+
+        assertEquals(0, new BigDecimal("59999999999.83333333").compareTo(stats.average()));
+    }
+
+}
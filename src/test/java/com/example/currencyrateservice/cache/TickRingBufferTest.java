@@ -0,0 +1,83 @@
+package com.example.currencyrateservice.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TickRingBufferTest {
+
+    @Test
+    void add_whenCapacityExceeded_shouldKeepNewestTicks() {
+        TickRingBuffer buffer = new TickRingBuffer(3);
+        for (long i = 1; i <= 5; i++) {
+            buffer.add(i * 1000, i);
+        }
+
+        List<Long> values = new ArrayList<>();
+        buffer.forEachSince(0, (epochMillis, value) -> values.add(value));
+
+        assertEquals(3, buffer.size());
+        assertEquals(List.of(3L, 4L, 5L), values);
+    }
+
+    @Test
+    void forEachSince_shouldSkipTicksOlderThanWindow() {
+        TickRingBuffer buffer = new TickRingBuffer(8);
+        for (long i = 1; i <= 6; i++) {
+            buffer.add(i * 1000, i * 10);
+        }
+
+        List<Long> values = new ArrayList<>();
+        buffer.forEachSince(4000, (epochMillis, value) -> values.add(value));
+
+        assertEquals(List.of(40L, 50L, 60L), values);
+    }
+
+    @Test
+    void add_whenTickIsOlderThanLast_shouldReject() {
+        TickRingBuffer buffer = new TickRingBuffer(4);
+        buffer.add(2000, 1);
+
+        assertFalse(buffer.add(1000, 2));
+        assertEquals(1, buffer.size());
+    }
+
+    @Test
+    void merge_whenLiveTicksArrivedFirst_shouldInsertHistoryInFront() {
+        TickRingBuffer buffer = new TickRingBuffer(8);
+        buffer.add(5000, 50);
+        buffer.add(6000, 60);
+
+        buffer.merge(1000, 10);
+        buffer.merge(3000, 30);
+        buffer.merge(5500, 55);
+        buffer.merge(5000, 50);
+
+        List<Long> values = new ArrayList<>();
+        buffer.forEachSince(0, (epochMillis, value) -> values.add(value));
+
+        assertEquals(List.of(10L, 30L, 50L, 55L, 60L), values);
+    }
+
+    @Test
+    void merge_whenFull_shouldDropOldestAndIgnoreOlderHistory() {
+        TickRingBuffer buffer = new TickRingBuffer(3);
+        buffer.add(2000, 20);
+        buffer.add(4000, 40);
+        buffer.add(6000, 60);
+
+        assertFalse(buffer.merge(1000, 10));
+        assertTrue(buffer.merge(3000, 30));
+
+        List<Long> values = new ArrayList<>();
+        buffer.forEachSince(0, (epochMillis, value) -> values.add(value));
+
+        assertEquals(List.of(30L, 40L, 60L), values);
+    }
+
+}
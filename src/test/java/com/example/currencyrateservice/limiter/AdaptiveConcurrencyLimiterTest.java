@@ -0,0 +1,74 @@
+package com.example.currencyrateservice.limiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 2, 1, 100, Duration.ofSeconds(3));
+    }
+
+    @Test
+    void execute_whenLimitReachedAndNoSnapshot_shouldRejectWithServiceUnavailable() {
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        limiter.execute(first::asMono, Optional::empty).subscribe();
+        limiter.execute(second::asMono, Optional::empty).subscribe();
+
+        StepVerifier.create(limiter.execute(() -> Mono.just("third"), Optional::empty))
+                .expectErrorSatisfies(error -> {
+                    assertTrue(error instanceof OverloadedException);
+                    assertEquals("3", ((OverloadedException) error).getHeaders().getFirst("Retry-After"));
+                })
+                .verify();
+        assertEquals(1.0, meterRegistry.get("currency.rates.limiter.requests").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void execute_whenLimitReachedAndSnapshotAvailable_shouldServeSnapshot() {
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        limiter.execute(first::asMono, Optional::empty).subscribe();
+        limiter.execute(second::asMono, Optional::empty).subscribe();
+
+        StepVerifier.create(limiter.execute(() -> Mono.just("fresh"), () -> Optional.of("stale")))
+                .expectNext("stale")
+                .verifyComplete();
+
+        first.tryEmitValue("done");
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void onSample_whenLatencyRises_shouldShrinkLimit() {
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 100);
+        }
+        double grownLimit = limiter.getLimit();
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(200), 100);
+        }
+
+        assertTrue(grownLimit > 2);
+        assertTrue(limiter.getLimit() < grownLimit);
+    }
+
+}
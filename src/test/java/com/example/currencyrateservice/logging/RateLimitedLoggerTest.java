@@ -0,0 +1,31 @@
+package com.example.currencyrateservice.logging;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitedLoggerTest {
+
+    @Test
+    void error_whenMessagesWereSuppressed_shouldKeepThrowableLast() throws InterruptedException {
+        Logger logger = mock(Logger.class);
+        when(logger.isErrorEnabled()).thenReturn(true);
+        RateLimitedLogger rateLimited = new RateLimitedLogger(logger, Duration.ofMillis(50));
+        RuntimeException failure = new RuntimeException("boom");
+
+        rateLimited.error("fetch failed: {}", "boom", failure);
+        rateLimited.error("fetch failed: {}", "boom", failure);
+        Thread.sleep(100);
+        rateLimited.error("fetch failed: {}", "boom", failure);
+
+        verify(logger, times(1)).error("fetch failed: {}", new Object[]{"boom", failure});
+        verify(logger).error("fetch failed: {} ({} similar messages suppressed)", new Object[]{"boom", 1L, failure});
+    }
+
+}
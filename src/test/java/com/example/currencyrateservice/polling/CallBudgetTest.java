@@ -0,0 +1,54 @@
+package com.example.currencyrateservice.polling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CallBudgetTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void tryAcquire_shouldNotAllowBurstAcrossWindowBoundary() {
+        AtomicLong now = new AtomicLong();
+        CallBudget budget = new CallBudget(3, Duration.ofMinutes(1), now::get);
+
+        now.set(58 * SECOND);
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+
+        now.set(62 * SECOND);
+        assertFalse(budget.tryAcquire());
+
+        now.set(118 * SECOND);
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_shouldFreeSlotsAsOldCallsLeaveTheWindow() {
+        AtomicLong now = new AtomicLong();
+        CallBudget budget = new CallBudget(2, Duration.ofMinutes(1), now::get);
+
+        assertTrue(budget.tryAcquire());
+        now.set(30 * SECOND);
+        assertTrue(budget.tryAcquire());
+        now.set(59 * SECOND);
+        assertFalse(budget.tryAcquire());
+
+        now.set(60 * SECOND);
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+        now.set(90 * SECOND);
+        assertTrue(budget.tryAcquire());
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.example.currencyrateservice.polling;
+
+import com.example.currencyrateservice.data.dto.CurrencyRateItem;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PollingIntervalTest {
+
+    private static final Duration MIN = Duration.ofSeconds(2);
+    private static final Duration MAX = Duration.ofSeconds(60);
+
+    @Test
+    void onUnchanged_shouldWidenUpToMaxInterval() {
+        PollingInterval interval = new PollingInterval(MIN, MAX, 0.001);
+
+        interval.onUnchanged();
+        assertEquals(Duration.ofSeconds(3), interval.current());
+
+        for (int i = 0; i < 20; i++) {
+            interval.onUnchanged();
+        }
+        assertEquals(MAX, interval.current());
+    }
+
+    @Test
+    void onRates_whenMovesExceedTarget_shouldNarrowDownToMinInterval() {
+        PollingInterval interval = new PollingInterval(MIN, MAX, 0.001);
+        for (int i = 0; i < 5; i++) {
+            interval.onUnchanged();
+        }
+        Duration widened = interval.current();
+
+        interval.onRates(List.of(rate("BTC", "60000")));
+        interval.onRates(List.of(rate("BTC", "60600")));
+        assertTrue(interval.current().compareTo(widened) < 0);
+
+        for (int i = 0; i < 10; i++) {
+            interval.onRates(List.of(rate("BTC", i % 2 == 0 ? "60000" : "60600")));
+        }
+        assertEquals(MIN, interval.current());
+    }
+
+    @Test
+    void onRates_whenMovesAreTiny_shouldWiden() {
+        PollingInterval interval = new PollingInterval(MIN, MAX, 0.001);
+
+        interval.onRates(List.of(rate("EUR", "1.00000")));
+        interval.onRates(List.of(rate("EUR", "1.00001")));
+
+        assertFalse(interval.current().compareTo(MIN) <= 0);
+    }
+
+    @Test
+    void callBudget_shouldRejectCallsBeyondLimit() {
+        CallBudget budget = new CallBudget(2);
+
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+
+    private static CurrencyRateItem rate(String currency, String value) {
+        return new CurrencyRateItem(currency, new BigDecimal(value));
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.example.currencyrateservice.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingConnectionFactoryTest {
+
+    @Mock
+    private ConnectionFactory primary;
+
+    @Mock
+    private ConnectionFactory replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private ReplicaLagMonitor lagMonitor;
+    private ReplicaRoutingConnectionFactory router;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doReturn(Mono.just(primaryConnection)).when(primary).create();
+        lenient().doReturn(Mono.just(replicaConnection)).when(replica).create();
+
+        lagMonitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(5), Duration.ofSeconds(5), new SimpleMeterRegistry());
+        router = new ReplicaRoutingConnectionFactory(primary, replica, lagMonitor);
+        router.afterPropertiesSet();
+    }
+
+    @Test
+    void create_whenReadOnlyAndReplicaFresh_shouldUseReplica() {
+        lagMonitor.onLagSample(1.0);
+
+        StepVerifier.create(ReadRouting.onReplica(Mono.from(router.create())))
+                .expectNext(replicaConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    void create_whenNotReadOnly_shouldUsePrimary() {
+        lagMonitor.onLagSample(0.0);
+
+        StepVerifier.create(Mono.from(router.create()))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    void create_whenReplicaLagsOrIsUnreachable_shouldFallBackToPrimary() {
+        lagMonitor.onLagSample(30.0);
+
+        StepVerifier.create(ReadRouting.onReplica(Mono.from(router.create())))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+
+        lagMonitor.onLagSample(0.0);
+        lagMonitor.onLagUnavailable(new IllegalStateException("connection refused"));
+
+        StepVerifier.create(ReadRouting.onReplica(Mono.from(router.create())))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.example.currencyrateservice.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @Mock
+    private ConnectionFactory replicaConnectionFactory;
+
+    private ReplicaLagMonitor lagMonitor;
+    private ReplicaRoutingDataSource router;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica.getConnection()).thenReturn(replicaConnection);
+
+        lagMonitor = new ReplicaLagMonitor(replicaConnectionFactory, Duration.ofSeconds(5), Duration.ofSeconds(5), new SimpleMeterRegistry());
+        router = new ReplicaRoutingDataSource(primary, replica, lagMonitor);
+        router.afterPropertiesSet();
+    }
+
+    @Test
+    void getConnection_whenReplicaFresh_shouldUseReplica() throws SQLException {
+        lagMonitor.onLagSample(1.0);
+
+        assertSame(replicaConnection, router.getConnection());
+    }
+
+    @Test
+    void getConnection_whenReplicaReceiverStopped_shouldUsePrimary() throws SQLException {
+        lagMonitor.onLagSample(Double.POSITIVE_INFINITY);
+
+        assertSame(primaryConnection, router.getConnection());
+    }
+
+}
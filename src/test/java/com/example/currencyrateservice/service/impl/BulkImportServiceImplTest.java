@@ -0,0 +1,35 @@
+package com.example.currencyrateservice.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BulkImportServiceImplTest {
+
+    @Test
+    void splitCsv_shouldHandleQuotedFields() {
+        assertEquals(List.of("USD", "1.25", "2024-01-01T00:00:00"),
+                BulkImportServiceImpl.splitCsv("USD,1.25,2024-01-01T00:00:00", 1));
+        assertEquals(List.of("US,D", "1.25", "say \"hi\""),
+                BulkImportServiceImpl.splitCsv("\"US,D\",\"1.25\",\"say \"\"hi\"\"\"", 1));
+        assertEquals(List.of("USD", "", ""),
+                BulkImportServiceImpl.splitCsv("USD,,", 1));
+    }
+
+    @Test
+    void splitCsv_whenQuoteUnterminated_shouldReject() {
+        assertThrows(IllegalArgumentException.class, () -> BulkImportServiceImpl.splitCsv("\"USD,1.25,x", 7));
+    }
+
+    @Test
+    void concurrently_shouldRebuildWithoutBlockingWrites() {
+        assertEquals("CREATE INDEX CONCURRENTLY idx_fiat_rate_currency_created_at ON public.fiat_rate "
+                        + "USING btree (currency_id, created_at DESC) INCLUDE (rate)",
+                BulkImportServiceImpl.concurrently("CREATE INDEX idx_fiat_rate_currency_created_at ON public.fiat_rate "
+                        + "USING btree (currency_id, created_at DESC) INCLUDE (rate)"));
+    }
+
+}
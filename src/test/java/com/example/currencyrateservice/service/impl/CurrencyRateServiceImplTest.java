@@ -1,5 +1,9 @@
 package com.example.currencyrateservice.service.impl;
 
+import com.example.currencyrateservice.alert.AlertRuleIndex;
+import com.example.currencyrateservice.cache.CurrencyDictionary;
+import com.example.currencyrateservice.cache.LatestRatesCache;
+import com.example.currencyrateservice.cache.RecentTickStore;
 import com.example.currencyrateservice.data.dto.CryptoCurrencyRateDTO;
 import com.example.currencyrateservice.data.dto.CurrencyRateItem;
 import com.example.currencyrateservice.data.dto.CurrencyRateResponse;
@@ -7,8 +11,9 @@ import com.example.currencyrateservice.data.mapper.CryptoRateMapper;
 import com.example.currencyrateservice.data.mapper.FiatRateMapper;
 import com.example.currencyrateservice.data.model.CryptoRate;
 import com.example.currencyrateservice.data.model.FiatRate;
-import com.example.currencyrateservice.repository.CryptoRateRepository;
-import com.example.currencyrateservice.repository.FiatRateRepository;
+import com.example.currencyrateservice.service.ExternalCurrencyClient;
+import com.example.currencyrateservice.store.RateStore;
+import com.example.currencyrateservice.tracing.RequestTiming;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,11 +24,22 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,13 +51,10 @@ class CurrencyRateServiceImplTest {
     private static final BigDecimal BTC_VALUE = BigDecimal.valueOf(1232.22);
 
     @Mock
-    private FiatRateRepository fiatRepository;
+    private RateStore rateStore;
 
     @Mock
-    private CryptoRateRepository cryptoRepository;
-
-    @Mock
-    private ExternalCurrencyClientImpl externalClient;
+    private ExternalCurrencyClient externalClient;
 
     @Mock
     private FiatRateMapper fiatMapper;
@@ -49,6 +62,18 @@ class CurrencyRateServiceImplTest {
     @Mock
     private CryptoRateMapper cryptoMapper;
 
+    @Mock
+    private RecentTickStore tickStore;
+
+    @Mock
+    private CurrencyDictionary currencyDictionary;
+
+    @Mock
+    private LatestRatesCache latestRatesCache;
+
+    @Mock
+    private AlertRuleIndex alertRuleIndex;
+
     private CurrencyRateServiceImpl service;
 
     private CurrencyRateItem fiatRateItem;
@@ -61,7 +86,8 @@ class CurrencyRateServiceImplTest {
     @BeforeEach
     void setUp() {
         service = new CurrencyRateServiceImpl(
-                fiatRepository, cryptoRepository, externalClient, fiatMapper, cryptoMapper
+                rateStore, externalClient, fiatMapper, cryptoMapper,
+                tickStore, currencyDictionary, latestRatesCache, alertRuleIndex, false
         );
 
         fiatRateItem = new CurrencyRateItem(USD, USD_VALUE);
@@ -70,18 +96,21 @@ class CurrencyRateServiceImplTest {
 
         fiatRate = new FiatRate();
         cryptoRate = new CryptoRate();
+
+        lenient().when(currencyDictionary.register(any())).thenReturn(Mono.empty());
+        lenient().when(currencyDictionary.withKnownIds(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
     void getCurrencyRates_whenFiatAndCryptoRatesAreAvailable_shouldReturnFiatAndCrypto() {
-        when(externalClient.getExternalFiatRates()).thenReturn(Mono.just(List.of(fiatRateItem)));
-        when(externalClient.getExternalCryptoRates()).thenReturn(Mono.just(List.of(cryptoDTO)));
+        when(externalClient.getExternalFiatRates()).thenReturn(Flux.just(List.of(fiatRateItem)));
+        when(externalClient.getExternalCryptoRates()).thenReturn(Flux.just(List.of(cryptoDTO)));
 
         when(fiatMapper.toModel(fiatRateItem)).thenReturn(fiatRate);
         when(cryptoMapper.toModel(cryptoDTO)).thenReturn(cryptoRate);
 
-        when(fiatRepository.save(fiatRate)).thenReturn(Mono.just(fiatRate));
-        when(cryptoRepository.save(cryptoRate)).thenReturn(Mono.just(cryptoRate));
+        when(rateStore.saveFiatRates(List.of(fiatRate))).thenReturn(Flux.just(fiatRate));
+        when(rateStore.saveCryptoRates(List.of(cryptoRate))).thenReturn(Flux.just(cryptoRate));
 
         Mono<CurrencyRateResponse> responseMono = service.getCurrencyRates();
 
@@ -96,15 +125,42 @@ class CurrencyRateServiceImplTest {
                 .verifyComplete();
     }
 
+    @Test
+    void getCurrencyRates_shouldTimeSavesSeparatelyFromTheUpstreamFetch() {
+        when(externalClient.getExternalFiatRates()).thenReturn(RequestTiming.timed("upstream-fiat",
+                Flux.just(List.of(fiatRateItem)).delayElements(Duration.ofMillis(300))));
+        when(externalClient.getExternalCryptoRates()).thenReturn(Flux.just(List.of(cryptoDTO)));
+
+        when(fiatMapper.toModel(fiatRateItem)).thenReturn(fiatRate);
+        when(cryptoMapper.toModel(cryptoDTO)).thenReturn(cryptoRate);
+
+        when(rateStore.saveFiatRates(List.of(fiatRate))).thenReturn(Flux.just(fiatRate).delayElements(Duration.ofMillis(50)));
+        when(rateStore.saveCryptoRates(List.of(cryptoRate))).thenReturn(Flux.just(cryptoRate));
+
+        RequestTiming timing = new RequestTiming();
+        StepVerifier.create(service.getCurrencyRates()
+                        .contextWrite(context -> context.put(RequestTiming.CONTEXT_KEY, timing)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        Map<String, RequestTiming.Stage> stages = timing.stages().stream()
+                .collect(Collectors.toMap(RequestTiming.Stage::name, Function.identity()));
+        RequestTiming.Stage upstream = stages.get("upstream-fiat");
+        RequestTiming.Stage save = stages.get("save-fiat");
+        assertTrue(save.startNanos() - upstream.startNanos() >= Duration.ofMillis(300).toNanos());
+        assertTrue(save.durationNanos() < Duration.ofMillis(300).toNanos());
+        assertTrue(stages.containsKey("save-crypto"));
+    }
+
     @Test
     void getCurrencyRates_whenOnlyFiatRatesAreAvailable_shouldReturnFiatOnlyAndEmptyCrypto() {
-        when(externalClient.getExternalFiatRates()).thenReturn(Mono.just(List.of(fiatRateItem)));
-        when(externalClient.getExternalCryptoRates()).thenReturn(Mono.error(new RuntimeException("Crypto API failure")));
+        when(externalClient.getExternalFiatRates()).thenReturn(Flux.just(List.of(fiatRateItem)));
+        when(externalClient.getExternalCryptoRates()).thenReturn(Flux.error(new RuntimeException("Crypto API failure")));
 
         when(fiatMapper.toModel(fiatRateItem)).thenReturn(fiatRate);
-        when(fiatRepository.save(fiatRate)).thenReturn(Mono.just(fiatRate));
+        when(rateStore.saveFiatRates(List.of(fiatRate))).thenReturn(Flux.just(fiatRate));
 
-        when(cryptoRepository.findLatestUnique()).thenReturn(Flux.empty());
+        when(rateStore.findLatestCryptoRates()).thenReturn(Flux.empty());
 
         Mono<CurrencyRateResponse> responseMono = service.getCurrencyRates();
 
@@ -121,13 +177,13 @@ class CurrencyRateServiceImplTest {
 
     @Test
     void getCurrencyRates_whenOnlyCryptoRatesAreAvailable_shouldReturnCryptoOnlyAndEmptyFiat() {
-        when(externalClient.getExternalFiatRates()).thenReturn(Mono.error(new RuntimeException("Fiat API failure")));
-        when(externalClient.getExternalCryptoRates()).thenReturn(Mono.just(List.of(cryptoDTO)));
+        when(externalClient.getExternalFiatRates()).thenReturn(Flux.error(new RuntimeException("Fiat API failure")));
+        when(externalClient.getExternalCryptoRates()).thenReturn(Flux.just(List.of(cryptoDTO)));
 
         when(cryptoMapper.toModel(cryptoDTO)).thenReturn(cryptoRate);
-        when(cryptoRepository.save(cryptoRate)).thenReturn(Mono.just(cryptoRate));
+        when(rateStore.saveCryptoRates(List.of(cryptoRate))).thenReturn(Flux.just(cryptoRate));
 
-        when(fiatRepository.findLatestUnique()).thenReturn(Flux.empty());
+        when(rateStore.findLatestFiatRates()).thenReturn(Flux.empty());
 
         Mono<CurrencyRateResponse> responseMono = service.getCurrencyRates();
 
@@ -144,11 +200,11 @@ class CurrencyRateServiceImplTest {
 
     @Test
     void getCurrencyRates_whenBothFiatAndCryptoRatesAreNotAvailable_shouldReturnEmptyFiatAndCrypto() {
-        when(externalClient.getExternalFiatRates()).thenReturn(Mono.error(new RuntimeException("Fiat API failure")));
-        when(externalClient.getExternalCryptoRates()).thenReturn(Mono.error(new RuntimeException("Crypto API failure")));
+        when(externalClient.getExternalFiatRates()).thenReturn(Flux.error(new RuntimeException("Fiat API failure")));
+        when(externalClient.getExternalCryptoRates()).thenReturn(Flux.error(new RuntimeException("Crypto API failure")));
 
-        when(fiatRepository.findLatestUnique()).thenReturn(Flux.empty());
-        when(cryptoRepository.findLatestUnique()).thenReturn(Flux.empty());
+        when(rateStore.findLatestFiatRates()).thenReturn(Flux.empty());
+        when(rateStore.findLatestCryptoRates()).thenReturn(Flux.empty());
 
         Mono<CurrencyRateResponse> responseMono = service.getCurrencyRates();
 
@@ -165,11 +221,11 @@ class CurrencyRateServiceImplTest {
 
     @Test
     void getCurrencyRates_whenFiatAndCryptoRatesAreNotAvailableAndDBWithData_shouldReturnDataFromDB() {
-        when(externalClient.getExternalFiatRates()).thenReturn(Mono.error(new RuntimeException("Fiat API failure")));
-        when(externalClient.getExternalCryptoRates()).thenReturn(Mono.error(new RuntimeException("Crypto API failure")));
+        when(externalClient.getExternalFiatRates()).thenReturn(Flux.error(new RuntimeException("Fiat API failure")));
+        when(externalClient.getExternalCryptoRates()).thenReturn(Flux.error(new RuntimeException("Crypto API failure")));
 
-        when(fiatRepository.findLatestUnique()).thenReturn(Flux.just(fiatRate));
-        when(cryptoRepository.findLatestUnique()).thenReturn(Flux.just(cryptoRate));
+        when(rateStore.findLatestFiatRates()).thenReturn(Flux.just(fiatRate));
+        when(rateStore.findLatestCryptoRates()).thenReturn(Flux.just(cryptoRate));
 
         when(fiatMapper.toDto(fiatRate)).thenReturn(fiatRateItem);
         when(cryptoMapper.toDto(cryptoRate)).thenReturn(cryptoRateItem);
@@ -187,4 +243,83 @@ class CurrencyRateServiceImplTest {
                 .verifyComplete();
     }
 
-}
\ No newline at end of file
+    @Test
+    void getCurrencyRates_whenUpstreamUnchanged_shouldServeCachedRatesWithoutSaving() {
+        when(externalClient.getExternalFiatRates()).thenReturn(Flux.empty());
+        when(externalClient.getExternalCryptoRates()).thenReturn(Flux.empty());
+        when(latestRatesCache.get()).thenReturn(Optional.of(
+                new CurrencyRateResponse(List.of(fiatRateItem), List.of(cryptoRateItem))));
+
+        StepVerifier.create(service.getCurrencyRates())
+                .assertNext(response -> {
+                    assertEquals(List.of(fiatRateItem), response.fiat());
+                    assertEquals(List.of(cryptoRateItem), response.crypto());
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(rateStore);
+    }
+
+    @Test
+    void getCurrencyRates_whenPollingEnabled_shouldServeCacheWithoutCallingUpstream() {
+        CurrencyRateServiceImpl pollingService = new CurrencyRateServiceImpl(
+                rateStore, externalClient, fiatMapper, cryptoMapper,
+                tickStore, currencyDictionary, latestRatesCache, alertRuleIndex, true
+        );
+        when(latestRatesCache.get()).thenReturn(Optional.of(
+                new CurrencyRateResponse(List.of(fiatRateItem), List.of(cryptoRateItem))));
+
+        StepVerifier.create(pollingService.getCurrencyRates())
+                .assertNext(response -> {
+                    assertEquals(List.of(fiatRateItem), response.fiat());
+                    assertEquals(List.of(cryptoRateItem), response.crypto());
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(externalClient, rateStore);
+    }
+
+    @Test
+    void getCurrencyRates_whenPollingEnabledAndCacheEmpty_shouldLoadSnapshotFromDB() {
+        CurrencyRateServiceImpl pollingService = new CurrencyRateServiceImpl(
+                rateStore, externalClient, fiatMapper, cryptoMapper,
+                tickStore, currencyDictionary, latestRatesCache, alertRuleIndex, true
+        );
+        when(latestRatesCache.get()).thenReturn(Optional.empty());
+        when(rateStore.findLatestFiatRates()).thenReturn(Flux.just(fiatRate));
+        when(rateStore.findLatestCryptoRates()).thenReturn(Flux.just(cryptoRate));
+        when(fiatMapper.toDto(fiatRate)).thenReturn(fiatRateItem);
+        when(cryptoMapper.toDto(cryptoRate)).thenReturn(cryptoRateItem);
+
+        StepVerifier.create(pollingService.getCurrencyRates())
+                .assertNext(response -> {
+                    assertEquals(List.of(fiatRateItem), response.fiat());
+                    assertEquals(List.of(cryptoRateItem), response.crypto());
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(externalClient);
+    }
+
+    @Test
+    void getCurrencyRates_whenAlertEvaluationFails_shouldStillSaveRates() {
+        when(externalClient.getExternalFiatRates()).thenReturn(Flux.just(List.of(fiatRateItem)));
+        when(externalClient.getExternalCryptoRates()).thenReturn(Flux.just(List.of(cryptoDTO)));
+        when(fiatMapper.toModel(fiatRateItem)).thenReturn(fiatRate);
+        when(cryptoMapper.toModel(cryptoDTO)).thenReturn(cryptoRate);
+        when(rateStore.saveFiatRates(List.of(fiatRate))).thenReturn(Flux.just(fiatRate));
+        when(rateStore.saveCryptoRates(List.of(cryptoRate))).thenReturn(Flux.just(cryptoRate));
+        doThrow(new ArithmeticException("overflow")).when(alertRuleIndex).onTick(any(), any(), any());
+
+        StepVerifier.create(service.getCurrencyRates())
+                .assertNext(response -> {
+                    assertEquals(List.of(fiatRateItem), response.fiat());
+                    assertEquals(List.of(cryptoRateItem), response.crypto());
+                })
+                .verifyComplete();
+
+        verify(rateStore, never()).findLatestFiatRates();
+        verify(rateStore, never()).findLatestCryptoRates();
+    }
+
+}
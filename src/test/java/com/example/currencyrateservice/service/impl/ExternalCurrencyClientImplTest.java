@@ -1,15 +1,29 @@
 package com.example.currencyrateservice.service.impl;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.LoggerFactory;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
@@ -17,6 +31,8 @@ import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.notMatching;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(SpringExtension.class)
 class ExternalCurrencyClientImplTest {
@@ -24,9 +40,15 @@ class ExternalCurrencyClientImplTest {
     private static final String BASE_URL = "http://localhost:9561";
     private static final String FIAT_ENDPOINT = "/fiat-currency-rates";
     private static final String CRYPTO_ENDPOINT = "/crypto-currency-rates";
+    private static final Duration TIMEOUT = Duration.ofSeconds(4);
+    private static final int CHUNK_SIZE = 1000;
+    private static final long DEDUPE_MAX_BYTES = 256 * 1024;
 
     private static WireMockServer wireMockServer;
 
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private MeterRegistry meterRegistry;
     private ExternalCurrencyClientImpl externalClient;
 
     @BeforeAll
@@ -47,7 +69,9 @@ class ExternalCurrencyClientImplTest {
                 .baseUrl(BASE_URL)
                 .build();
 
-        externalClient = new ExternalCurrencyClientImpl(webClient);
+        WireMock.reset();
+        meterRegistry = new SimpleMeterRegistry();
+        externalClient = new ExternalCurrencyClientImpl("default", webClient, jsonMapper, meterRegistry, TIMEOUT, CHUNK_SIZE, DEDUPE_MAX_BYTES);
     }
 
     @Test
@@ -126,6 +150,34 @@ class ExternalCurrencyClientImplTest {
                 .verify();
     }
 
+    @Test
+    void getExternalFiatRates_whenFailingRepeatedly_shouldLogEveryErrorWithItsCause() {
+        stubFor(get(urlEqualTo(FIAT_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(500)
+                        .withBody("Internal Server Error")));
+        Logger logger = (Logger) LoggerFactory.getLogger(ExternalCurrencyClientImpl.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                StepVerifier.create(externalClient.getExternalFiatRates())
+                        .expectError(RuntimeException.class)
+                        .verify();
+            }
+        } finally {
+            logger.detachAppender(appender);
+        }
+
+        List<ILoggingEvent> errors = appender.list.stream()
+                .filter(event -> event.getLevel() == Level.ERROR)
+                .toList();
+        assertEquals(3, errors.size());
+        assertTrue(errors.stream().allMatch(event -> event.getThrowableProxy() != null));
+    }
+
     @Test
     void getExternalFiatRates_whenMissingApiKeyHeader_shouldReturnError() {
         stubFor(get(urlEqualTo(FIAT_ENDPOINT))
@@ -137,7 +189,7 @@ class ExternalCurrencyClientImplTest {
         WebClient webClientWithoutHeader = WebClient.builder()
                 .baseUrl(BASE_URL)
                 .build();
-        ExternalCurrencyClientImpl clientWithoutHeader = new ExternalCurrencyClientImpl(webClientWithoutHeader);
+        ExternalCurrencyClientImpl clientWithoutHeader = new ExternalCurrencyClientImpl("default", webClientWithoutHeader, jsonMapper, meterRegistry, TIMEOUT, CHUNK_SIZE, DEDUPE_MAX_BYTES);
 
         StepVerifier.create(clientWithoutHeader.getExternalFiatRates())
                 .expectErrorMatches(error ->
@@ -146,4 +198,133 @@ class ExternalCurrencyClientImplTest {
                 .verify();
     }
 
+    @Test
+    void getExternalFiatRates_whenEtagNotModified_shouldCompleteEmpty() {
+        stubFor(get(urlEqualTo(FIAT_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("ETag", "\"v1\"")
+                        .withBody("[{\"currency\": \"USD\", \"rate\": 123.45}]")));
+        stubFor(get(urlEqualTo(FIAT_ENDPOINT))
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304)));
+
+        StepVerifier.create(externalClient.getExternalFiatRates())
+                .expectNextMatches(list -> list.size() == 1)
+                .verifyComplete();
+        StepVerifier.create(externalClient.getExternalFiatRates())
+                .verifyComplete();
+
+        assertEquals(1.0, fetches("fiat", "changed"));
+        assertEquals(1.0, fetches("fiat", "not-modified"));
+    }
+
+    @Test
+    void getExternalCryptoRates_whenBodyUnchangedWithoutValidators_shouldCompleteEmpty() {
+        stubFor(get(urlEqualTo(CRYPTO_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[{\"name\": \"BTC\", \"value\": 54321.00}]")));
+
+        StepVerifier.create(externalClient.getExternalCryptoRates())
+                .expectNextMatches(list -> list.size() == 1)
+                .verifyComplete();
+        StepVerifier.create(externalClient.getExternalCryptoRates())
+                .verifyComplete();
+
+        stubFor(get(urlEqualTo(CRYPTO_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[{\"name\": \"BTC\", \"value\": 54400.00}]")));
+
+        StepVerifier.create(externalClient.getExternalCryptoRates())
+                .expectNextMatches(list -> list.getFirst().value().doubleValue() == 54400.00)
+                .verifyComplete();
+
+        assertEquals(2.0, fetches("crypto", "changed"));
+        assertEquals(1.0, fetches("crypto", "unchanged"));
+    }
+
+    @Test
+    void getExternalCryptoRates_whenPayloadIsLarge_shouldStreamBoundedChunks() {
+        int rateCount = 100_000;
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < rateCount; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"name\": \"C").append(i).append("\", \"value\": ").append(i).append(".25}");
+        }
+        body.append(']');
+
+        stubFor(get(urlEqualTo(CRYPTO_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("ETag", "\"big\"")
+                        .withBody(body.toString())));
+
+        AtomicInteger received = new AtomicInteger();
+        StepVerifier.create(externalClient.getExternalCryptoRates())
+                .thenConsumeWhile(chunk -> {
+                    assertTrue(chunk.size() <= CHUNK_SIZE);
+                    assertEquals("C" + received.get(), chunk.getFirst().name());
+                    received.addAndGet(chunk.size());
+                    return true;
+                })
+                .verifyComplete();
+
+        assertEquals(rateCount, received.get());
+        assertEquals(1.0, fetches("crypto", "streamed"));
+        assertEquals(0.0, fetches("crypto", "changed"));
+    }
+
+    @Test
+    void getExternalFiatRates_whenChunksAreSavedSlowerThanTimeout_shouldNotTimeOut() {
+        Duration timeout = Duration.ofMillis(300);
+        ExternalCurrencyClientImpl client = new ExternalCurrencyClientImpl("default",
+                WebClient.builder().baseUrl(BASE_URL).build(), jsonMapper, meterRegistry, timeout, 1, DEDUPE_MAX_BYTES);
+        stubFor(get(urlEqualTo(FIAT_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("""
+                                [
+                                    {"currency": "USD", "rate": 1.1},
+                                    {"currency": "EUR", "rate": 1.2},
+                                    {"currency": "GBP", "rate": 1.3}
+                                ]
+                                """)));
+
+        StepVerifier.create(client.getExternalFiatRates()
+                        .concatMap(chunk -> Mono.delay(timeout.multipliedBy(2)).thenReturn(chunk), 1))
+                .expectNextCount(3)
+                .verifyComplete();
+    }
+
+    @Test
+    void getExternalFiatRates_whenFirstByteIsLate_shouldTimeOut() {
+        Duration timeout = Duration.ofMillis(300);
+        ExternalCurrencyClientImpl client = new ExternalCurrencyClientImpl("default",
+                WebClient.builder().baseUrl(BASE_URL).build(), jsonMapper, meterRegistry, timeout, 1, DEDUPE_MAX_BYTES);
+        stubFor(get(urlEqualTo(FIAT_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withFixedDelay(1000)
+                        .withBody("[]")));
+
+        StepVerifier.create(client.getExternalFiatRates())
+                .expectError(TimeoutException.class)
+                .verify();
+    }
+
+    private double fetches(String endpoint, String outcome) {
+        return meterRegistry.get("currency.rates.upstream.fetches")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+
 }
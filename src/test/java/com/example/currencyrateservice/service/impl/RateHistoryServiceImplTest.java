@@ -0,0 +1,112 @@
+package com.example.currencyrateservice.service.impl;
+
+import com.example.currencyrateservice.cache.CurrencyDictionary;
+import com.example.currencyrateservice.cache.RecentTickStore;
+import com.example.currencyrateservice.data.dto.HistoricalRateItem;
+import com.example.currencyrateservice.data.mapper.CryptoRateMapper;
+import com.example.currencyrateservice.data.mapper.FiatRateMapper;
+import com.example.currencyrateservice.data.model.CryptoRate;
+import com.example.currencyrateservice.data.model.FiatRate;
+import com.example.currencyrateservice.data.model.RateType;
+import com.example.currencyrateservice.repository.CryptoRateRepository;
+import com.example.currencyrateservice.repository.FiatRateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RateHistoryServiceImplTest {
+
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final short USD_ID = 1;
+    private static final short BTC_ID = 2;
+    private static final short ETH_ID = 3;
+
+    @Mock
+    private FiatRateRepository fiatRepository;
+
+    @Mock
+    private CryptoRateRepository cryptoRepository;
+
+    @Mock
+    private CurrencyDictionary currencyDictionary;
+
+    private RateHistoryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RateHistoryServiceImpl(
+                fiatRepository, cryptoRepository,
+                new FiatRateMapper(currencyDictionary), new CryptoRateMapper(currencyDictionary),
+                new RecentTickStore(16), currencyDictionary
+        );
+
+        when(currencyDictionary.refreshIfMissing(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void getRatesAsOf_whenSingleCurrency_shouldUseSingleSeek() {
+        FiatRate usd = new FiatRate(null, USD_ID, BigDecimal.valueOf(1.1), AS_OF.minusHours(1));
+        when(currencyDictionary.findId("USD")).thenReturn(Optional.of(USD_ID));
+        when(currencyDictionary.codeOf(USD_ID)).thenReturn("USD");
+        when(fiatRepository.findAsOf(USD_ID, AS_OF)).thenReturn(Mono.just(usd));
+
+        StepVerifier.create(service.getRatesAsOf(RateType.FIAT, List.of("USD", "USD"), AS_OF))
+                .assertNext(list -> {
+                    assertEquals(1, list.size());
+                    assertEquals(new HistoricalRateItem("USD", BigDecimal.valueOf(1.1), AS_OF.minusHours(1)), list.getFirst());
+                })
+                .verifyComplete();
+
+        verify(fiatRepository, never()).findAllAsOf(any(), any());
+    }
+
+    @Test
+    void getRatesAsOf_whenCurrencyUnknown_shouldSkipIt() {
+        when(currencyDictionary.findId("XYZ")).thenReturn(Optional.empty());
+
+        StepVerifier.create(service.getRatesAsOf(RateType.FIAT, List.of("XYZ"), AS_OF))
+                .assertNext(list -> assertEquals(0, list.size()))
+                .verifyComplete();
+    }
+
+    @Test
+    void getRatesAsOf_whenManyCurrencies_shouldUseSingleLateralQuery() {
+        CryptoRate btc = new CryptoRate(null, BTC_ID, BigDecimal.valueOf(50000), AS_OF.minusMinutes(5));
+        CryptoRate eth = new CryptoRate(null, ETH_ID, BigDecimal.valueOf(2000), AS_OF.minusMinutes(7));
+        when(currencyDictionary.findId("BTC")).thenReturn(Optional.of(BTC_ID));
+        when(currencyDictionary.findId("ETH")).thenReturn(Optional.of(ETH_ID));
+        when(currencyDictionary.codeOf(BTC_ID)).thenReturn("BTC");
+        when(currencyDictionary.codeOf(ETH_ID)).thenReturn("ETH");
+        when(cryptoRepository.findAllAsOf(eq(new Short[]{BTC_ID, ETH_ID}), eq(AS_OF))).thenReturn(Flux.just(btc, eth));
+
+        StepVerifier.create(service.getRatesAsOf(RateType.CRYPTO, List.of("BTC", "ETH"), AS_OF))
+                .assertNext(list -> {
+                    assertEquals(2, list.size());
+                    assertEquals("BTC", list.get(0).currency());
+                    assertEquals("ETH", list.get(1).currency());
+                })
+                .verifyComplete();
+
+        verify(cryptoRepository, never()).findAsOf(anyShort(), any());
+    }
+
+}
@@ -0,0 +1,224 @@
+package com.example.currencyrateservice.sourcing;
+
+import com.example.currencyrateservice.polling.CallBudget;
+import com.example.currencyrateservice.polling.CallBudgetExhaustedException;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MultiProviderCurrencyClientTest {
+
+    private static final String FIAT_ENDPOINT = "/fiat-currency-rates";
+    private static final String CRYPTO_ENDPOINT = "/crypto-currency-rates";
+
+    private static WireMockServer slow;
+    private static WireMockServer fast;
+    private static WireMockServer third;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void beforeAll() {
+        slow = new WireMockServer(9571);
+        fast = new WireMockServer(9572);
+        third = new WireMockServer(9573);
+        slow.start();
+        fast.start();
+        third.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        slow.stop();
+        fast.stop();
+        third.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        slow.resetAll();
+        fast.resetAll();
+        third.resetAll();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void race_shouldTakeTheFastestValidAnswer() {
+        stubFiat(slow, "[{\"currency\": \"USD\", \"rate\": 1.10}]", 1500);
+        stubFiat(fast, "[{\"currency\": \"USD\", \"rate\": 1.20}]", 0);
+
+        MultiProviderCurrencyClient client = client(SourcingMode.RACE, slow, fast);
+
+        StepVerifier.create(client.getExternalFiatRates())
+                .expectNextMatches(rates -> rates.getFirst().rate().compareTo(new BigDecimal("1.20")) == 0)
+                .verifyComplete();
+
+        assertEquals(1.0, selected("fast", "fiat"));
+        assertEquals(0.0, selected("slow", "fiat"));
+    }
+
+    @Test
+    void race_whenOneProviderFails_shouldUseTheOther() {
+        slow.stubFor(get(urlEqualTo(CRYPTO_ENDPOINT)).willReturn(aResponse().withStatus(500)));
+        stubCrypto(fast, "[{\"name\": \"BTC\", \"value\": 54321.00}]", 200);
+
+        MultiProviderCurrencyClient client = client(SourcingMode.RACE, slow, fast);
+
+        StepVerifier.create(client.getExternalCryptoRates())
+                .expectNextMatches(rates -> rates.getFirst().name().equals("BTC"))
+                .verifyComplete();
+
+        assertEquals(1, meterRegistry.get("currency.rates.upstream.latency")
+                .tag("provider", "slow").tag("endpoint", "crypto").tag("outcome", "error")
+                .timer().count());
+    }
+
+    @Test
+    void race_whenAllProvidersFail_shouldError() {
+        slow.stubFor(get(urlEqualTo(CRYPTO_ENDPOINT)).willReturn(aResponse().withStatus(500)));
+        fast.stubFor(get(urlEqualTo(CRYPTO_ENDPOINT)).willReturn(aResponse().withStatus(503)));
+
+        MultiProviderCurrencyClient client = client(SourcingMode.RACE, slow, fast);
+
+        StepVerifier.create(client.getExternalCryptoRates())
+                .expectErrorMessage("All upstream providers failed")
+                .verify();
+    }
+
+    @Test
+    void median_shouldCombineProvidersAnsweringWithinDeadline() {
+        stubFiat(slow, "[{\"currency\": \"USD\", \"rate\": 9.00}]", 3000);
+        stubFiat(fast, "[{\"currency\": \"USD\", \"rate\": 1.00}, {\"currency\": \"EUR\", \"rate\": 0.90}]", 0);
+        stubFiat(third, "[{\"currency\": \"USD\", \"rate\": 2.00}, {\"currency\": \"EUR\", \"rate\": 0.92}]", 0);
+
+        MultiProviderCurrencyClient client = client(SourcingMode.MEDIAN, slow, fast, third);
+
+        StepVerifier.create(client.getExternalFiatRates())
+                .expectNextMatches(rates -> rates.size() == 2
+                        && rates.get(0).currency().equals("USD")
+                        && rates.get(0).rate().compareTo(new BigDecimal("1.50")) == 0
+                        && rates.get(1).rate().compareTo(new BigDecimal("0.91")) == 0)
+                .verifyComplete();
+
+        assertEquals(0.0, selected("slow", "fiat"));
+        assertEquals(1.0, selected("third", "fiat"));
+    }
+
+    @Test
+    void median_withOddProviderCount_shouldIgnoreOutlier() {
+        stubCrypto(slow, "[{\"name\": \"BTC\", \"value\": 10.00}]", 0);
+        stubCrypto(fast, "[{\"name\": \"BTC\", \"value\": 50000.00}]", 0);
+        stubCrypto(third, "[{\"name\": \"BTC\", \"value\": 50010.00}]", 0);
+
+        MultiProviderCurrencyClient client = client(SourcingMode.MEDIAN, slow, fast, third);
+
+        StepVerifier.create(client.getExternalCryptoRates())
+                .expectNextMatches(rates -> rates.getFirst().value().compareTo(new BigDecimal("50000.00")) == 0)
+                .verifyComplete();
+    }
+
+    @Test
+    void race_shouldChargeTheCallBudgetPerProviderCall() {
+        stubFiat(slow, "[{\"currency\": \"USD\", \"rate\": 1.10}]", 1500);
+        stubFiat(fast, "[{\"currency\": \"USD\", \"rate\": 1.20}]", 0);
+        stubFiat(third, "[{\"currency\": \"USD\", \"rate\": 1.30}]", 0);
+
+        MultiProviderCurrencyClient client = client(SourcingMode.RACE, new CallBudget(2), Duration.ofMillis(200),
+                Duration.ofSeconds(1), slow, fast, third);
+
+        StepVerifier.create(client.getExternalFiatRates())
+                .expectNextMatches(rates -> rates.getFirst().rate().compareTo(new BigDecimal("1.20")) == 0)
+                .verifyComplete();
+        StepVerifier.create(client.getExternalFiatRates())
+                .expectError(CallBudgetExhaustedException.class)
+                .verify();
+
+        assertEquals(1, slow.getAllServeEvents().size());
+        assertEquals(1, fast.getAllServeEvents().size());
+        assertEquals(0, third.getAllServeEvents().size());
+    }
+
+    @Test
+    void median_whenBudgetCoversOnlySomeProviders_shouldAskOnlyThose() {
+        stubCrypto(slow, "[{\"name\": \"BTC\", \"value\": 50000.00}]", 0);
+        stubCrypto(fast, "[{\"name\": \"BTC\", \"value\": 50010.00}]", 0);
+        stubCrypto(third, "[{\"name\": \"BTC\", \"value\": 50020.00}]", 0);
+
+        MultiProviderCurrencyClient client = client(SourcingMode.MEDIAN, new CallBudget(2), Duration.ZERO,
+                Duration.ofSeconds(5), slow, fast, third);
+
+        StepVerifier.create(client.getExternalCryptoRates())
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(2, slow.getAllServeEvents().size() + fast.getAllServeEvents().size()
+                + third.getAllServeEvents().size());
+    }
+
+    private MultiProviderCurrencyClient client(SourcingMode mode, WireMockServer... servers) {
+        return client(mode, CallBudget.unlimited(), Duration.ZERO, Duration.ofSeconds(1), servers);
+    }
+
+    private MultiProviderCurrencyClient client(SourcingMode mode,
+                                               CallBudget callBudget,
+                                               Duration hedgeDelay,
+                                               Duration medianDeadline,
+                                               WireMockServer... servers) {
+        List<UpstreamProvider> providers = Arrays.stream(servers)
+                .map(server -> new UpstreamProvider(name(server),
+                        WebClient.builder().baseUrl(server.baseUrl()).build(), Duration.ofSeconds(4)))
+                .toList();
+        return new MultiProviderCurrencyClient(providers, jsonMapper, meterRegistry, callBudget, mode,
+                hedgeDelay, medianDeadline, 3, Duration.ofSeconds(30), 500, 256 * 1024);
+    }
+
+    private static String name(WireMockServer server) {
+        return server == slow ? "slow" : server == fast ? "fast" : "third";
+    }
+
+    private static void stubFiat(WireMockServer server, String body, int delayMillis) {
+        server.stubFor(get(urlEqualTo(FIAT_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withFixedDelay(delayMillis)
+                        .withBody(body)));
+    }
+
+    private static void stubCrypto(WireMockServer server, String body, int delayMillis) {
+        server.stubFor(get(urlEqualTo(CRYPTO_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withFixedDelay(delayMillis)
+                        .withBody(body)));
+    }
+
+    private double selected(String provider, String endpoint) {
+        return meterRegistry.get("currency.rates.upstream.selected")
+                .tag("provider", provider)
+                .tag("endpoint", endpoint)
+                .counter()
+                .count();
+    }
+
+}
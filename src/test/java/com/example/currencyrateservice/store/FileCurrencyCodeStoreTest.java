@@ -0,0 +1,59 @@
+package com.example.currencyrateservice.store;
+
+import com.example.currencyrateservice.data.model.Currency;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FileCurrencyCodeStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void register_shouldKeepIdsAcrossRestart() throws IOException {
+        new FileCurrencyCodeStore(directory).register(List.of("USD", "EUR")).collectList().block();
+
+        FileCurrencyCodeStore reopened = new FileCurrencyCodeStore(directory);
+
+        assertEquals(List.of("1 USD", "2 EUR", "3 GBP"), describe(reopened.register(List.of("USD", "EUR", "GBP"))
+                .collectList().block()));
+    }
+
+    @Test
+    void reopen_shouldTruncatePartialTrailingLine() throws IOException {
+        Files.writeString(directory.resolve("currencies.txt"), "1,USD\n2,EUR\n3", StandardCharsets.UTF_8);
+
+        FileCurrencyCodeStore store = new FileCurrencyCodeStore(directory);
+        List<Currency> registered = store.register(List.of("GBP")).collectList().block();
+
+        assertEquals(List.of("3 GBP"), describe(registered));
+        assertEquals("1,USD\n2,EUR\n3,GBP\n", Files.readString(directory.resolve("currencies.txt")));
+        assertEquals(List.of("1 USD", "2 EUR", "3 GBP"), describe(new FileCurrencyCodeStore(directory).findAll()
+                .collectList().block()));
+    }
+
+    @Test
+    void reopen_shouldStopAtFirstCorruptLine() throws IOException {
+        Files.writeString(directory.resolve("currencies.txt"), "1,USD\n56,EUR\n", StandardCharsets.UTF_8);
+
+        FileCurrencyCodeStore store = new FileCurrencyCodeStore(directory);
+
+        assertEquals(List.of("1 USD"), describe(store.findAll().collectList().block()));
+        assertEquals("1,USD\n", Files.readString(directory.resolve("currencies.txt")));
+    }
+
+    private static List<String> describe(List<Currency> currencies) {
+        return currencies.stream()
+                .map(currency -> currency.getId() + " " + currency.getCode())
+                .toList();
+    }
+
+}
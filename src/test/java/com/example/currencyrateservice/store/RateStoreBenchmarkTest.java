@@ -0,0 +1,199 @@
+package com.example.currencyrateservice.store;
+
+import com.example.currencyrateservice.cache.CurrencyDictionary;
+import com.example.currencyrateservice.data.model.FiatRate;
+import com.example.currencyrateservice.repository.CryptoRateRepository;
+import com.example.currencyrateservice.repository.FiatRateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RateStoreBenchmarkTest {
+
+    private static final int CURRENCIES = 200;
+    private static final int BATCH_SIZE = 500;
+    private static final int BATCHES = 400;
+    private static final int CONCURRENCY = 8;
+    private static final int LATEST_QUERIES = 50;
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private FiatRateRepository fiatRateRepository;
+
+    @Autowired
+    private CryptoRateRepository cryptoRateRepository;
+
+    @Autowired
+    private CurrencyDictionary currencyDictionary;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    Path tickLogDirectory;
+
+    static String getJdbcUrl() {
+        return "jdbc:postgresql://" + postgres.getHost() + ":" + postgres.getMappedPort(5432) + "/testdb";
+    }
+
+    static String getR2dbcUrl() {
+        return "r2dbc:postgresql://" + postgres.getHost() + ":" + postgres.getMappedPort(5432) + "/testdb";
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", RateStoreBenchmarkTest::getR2dbcUrl);
+        registry.add("spring.r2dbc.username", () -> "test");
+        registry.add("spring.r2dbc.password", () -> "test");
+        registry.add("spring.r2dbc.pool.max-size", () -> String.valueOf(CONCURRENCY));
+
+        registry.add("spring.datasource.url", RateStoreBenchmarkTest::getJdbcUrl);
+        registry.add("spring.datasource.username", () -> "test");
+        registry.add("spring.datasource.password", () -> "test");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> String.valueOf(CONCURRENCY));
+
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("external.currency-api.url", () -> "http://localhost:9561");
+        registry.add("warmup.enabled", () -> "false");
+    }
+
+    @BeforeAll
+    static void migrateFlyway() {
+        Flyway.configure()
+                .dataSource(getJdbcUrl(), "test", "test")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @AfterEach
+    void cleanDB() {
+        fiatRateRepository.deleteAll().block();
+        cryptoRateRepository.deleteAll().block();
+    }
+
+    @Test
+    void compareRateStores() throws IOException {
+        List<String> codes = IntStream.range(0, CURRENCIES).mapToObj(i -> "B" + i).toList();
+        currencyDictionary.register(codes).block();
+        List<Short> currencyIds = codes.stream().map(currencyDictionary::idOf).toList();
+        LocalDateTime startedAt = LocalDateTime.now().minusMinutes(1);
+
+        JdbcRateStore jdbcStore = new JdbcRateStore(dataSource);
+        try {
+            for (int round = 0; round < 2; round++) {
+                run("r2dbc", new R2dbcRateStore(fiatRateRepository, cryptoRateRepository), currencyIds, round == 0,
+                        fiatRateRepository::count);
+                cleanDB();
+                run("jdbc-virtual-threads", jdbcStore, currencyIds, round == 0, fiatRateRepository::count);
+                cleanDB();
+
+                TickLogRateStore tickLogStore = tickLogStore(tickLogDirectory.resolve("round-" + round));
+                try {
+                    run("ticklog", tickLogStore, currencyIds, round == 0,
+                            () -> tickLogStore.findFiatRatesSince(startedAt).count());
+                } finally {
+                    tickLogStore.close();
+                }
+            }
+        } finally {
+            jdbcStore.close();
+        }
+    }
+
+    private void run(String name, RateStore store, List<Short> currencyIds, boolean warmup, Supplier<Mono<Long>> storedRows) {
+        long[] batchNanos = new long[BATCHES];
+        long startedAt = System.nanoTime();
+
+        Flux.range(0, BATCHES)
+                .flatMap(batch -> {
+                    List<FiatRate> rates = batch(currencyIds, batch);
+                    return Mono.defer(() -> {
+                        long batchStartedAt = System.nanoTime();
+                        return store.saveFiatRates(rates)
+                                .then(Mono.fromRunnable(() -> batchNanos[batch] = System.nanoTime() - batchStartedAt));
+                    });
+                }, CONCURRENCY)
+                .blockLast();
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        long[] latestNanos = new long[LATEST_QUERIES];
+        for (int i = 0; i < LATEST_QUERIES; i++) {
+            long queryStartedAt = System.nanoTime();
+            Long found = store.findLatestFiatRates().count().block();
+            latestNanos[i] = System.nanoTime() - queryStartedAt;
+            assertThat(found).isEqualTo((long) currencyIds.size());
+        }
+        assertThat(storedRows.get().block()).isEqualTo((long) BATCHES * BATCH_SIZE);
+
+        if (!warmup) {
+            log.info("{}: {} rows/s, batch p50 {} ms, p99 {} ms, latest p50 {} ms, p99 {} ms",
+                    name,
+                    (long) BATCHES * BATCH_SIZE * TimeUnit.SECONDS.toNanos(1) / elapsedNanos,
+                    millis(percentile(batchNanos, 0.50)), millis(percentile(batchNanos, 0.99)),
+                    millis(percentile(latestNanos, 0.50)), millis(percentile(latestNanos, 0.99)));
+        }
+    }
+
+    private static TickLogRateStore tickLogStore(Path directory) throws IOException {
+        return new TickLogRateStore(directory, 64L * 1024 * 1024, 32, true,
+                Duration.ofHours(1), Duration.ofDays(30), Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    private static List<FiatRate> batch(List<Short> currencyIds, int batch) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        return IntStream.range(0, BATCH_SIZE)
+                .mapToObj(i -> new FiatRate(null, currencyIds.get(i % currencyIds.size()),
+                        BigDecimal.valueOf(batch * BATCH_SIZE + i, 4), createdAt.plusNanos(i * 1000L)))
+                .toList();
+    }
+
+    private static long percentile(long[] samples, double percentile) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.example.currencyrateservice.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TickLogTest {
+
+    private static final short USD = 1;
+    private static final short EUR = 2;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_shouldServeLatestAndRangeLookups() throws IOException {
+        try (TickLog tickLog = new TickLog(directory, 1 << 20, 4, false)) {
+            List<TickLog.Tick> ticks = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                ticks.add(TickLog.Tick.of(i % 2 == 0 ? USD : EUR, 1000L * i, 100L + i));
+            }
+            List<TickLog.Tick> appended = tickLog.append(ticks);
+
+            assertEquals(0, appended.getFirst().sequence());
+            assertEquals(99, appended.getLast().sequence());
+            assertEquals(198, tickLog.latest(USD).scaledRate());
+            assertEquals(199, tickLog.latest(EUR).scaledRate());
+            assertNull(tickLog.latest((short) 3));
+            assertEquals(List.of(140L, 142L, 144L), tickLog.range(USD, 40_000, 45_000).stream()
+                    .map(TickLog.Tick::scaledRate)
+                    .toList());
+            assertEquals(10, tickLog.since(90_000).size());
+            assertEquals(2, tickLog.latestAll().size());
+        }
+    }
+
+    @Test
+    void reopen_shouldRecoverAndTruncatePartialTailRecord() throws IOException {
+        try (TickLog tickLog = new TickLog(directory, 1 << 20, 4, true)) {
+            tickLog.append(List.of(TickLog.Tick.of(USD, 1000, 11), TickLog.Tick.of(USD, 2000, 12)));
+        }
+        Path segment = segments().getLast();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 1, 0, 0, 0}));
+        }
+
+        try (TickLog tickLog = new TickLog(directory, 1 << 20, 4, true)) {
+            assertEquals(2L * TickLogSegment.RECORD_BYTES, Files.size(segment));
+            assertEquals(12, tickLog.latest(USD).scaledRate());
+
+            List<TickLog.Tick> appended = tickLog.append(List.of(TickLog.Tick.of(USD, 3000, 13)));
+
+            assertEquals(2, appended.getFirst().sequence());
+            assertEquals(List.of(11L, 12L, 13L), tickLog.range(USD, 0, Long.MAX_VALUE).stream()
+                    .map(TickLog.Tick::scaledRate)
+                    .toList());
+        }
+    }
+
+    @Test
+    void reopen_shouldStopAtCorruptTailRecord() throws IOException {
+        try (TickLog tickLog = new TickLog(directory, 1 << 20, 4, true)) {
+            tickLog.append(List.of(TickLog.Tick.of(USD, 1000, 11), TickLog.Tick.of(USD, 2000, 12)));
+        }
+        Path segment = segments().getLast();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), TickLogSegment.RECORD_BYTES + 5);
+        }
+
+        try (TickLog tickLog = new TickLog(directory, 1 << 20, 4, true)) {
+            assertEquals(11, tickLog.latest(USD).scaledRate());
+            assertEquals(TickLogSegment.RECORD_BYTES, Files.size(segment));
+        }
+    }
+
+    @Test
+    void append_whenSegmentFull_shouldRollAndKeepSequencesAcrossRestart() throws IOException {
+        try (TickLog tickLog = new TickLog(directory, 10L * TickLogSegment.RECORD_BYTES, 4, false)) {
+            for (int i = 0; i < 5; i++) {
+                tickLog.append(List.of(
+                        TickLog.Tick.of(USD, 1000L * i, i),
+                        TickLog.Tick.of(EUR, 1000L * i, 100 + i),
+                        TickLog.Tick.of(USD, 1000L * i + 500, 10 + i),
+                        TickLog.Tick.of(EUR, 1000L * i + 500, 110 + i)));
+            }
+            assertEquals(3, tickLog.segmentCount());
+        }
+
+        try (TickLog tickLog = new TickLog(directory, 10L * TickLogSegment.RECORD_BYTES, 4, false)) {
+            assertEquals(3, tickLog.segmentCount());
+            assertEquals(114, tickLog.latest(EUR).scaledRate());
+            assertEquals(10, tickLog.range(USD, 0, Long.MAX_VALUE).size());
+            assertEquals(20, tickLog.append(List.of(TickLog.Tick.of(USD, 9000, 99))).getFirst().sequence());
+        }
+    }
+
+    @Test
+    void maintain_shouldDropExpiredSegmentsAndCarryForwardLatestRates() throws IOException {
+        try (TickLog tickLog = new TickLog(directory, 1 << 20, 4, false)) {
+            tickLog.maintain(0, 1000, 100_000);
+            tickLog.append(List.of(TickLog.Tick.of(USD, 1000, 1), TickLog.Tick.of(EUR, 1000, 2)));
+            tickLog.maintain(5000, 1000, 100_000);
+            tickLog.append(List.of(TickLog.Tick.of(USD, 6000, 3)));
+
+            assertEquals(2, tickLog.segmentCount());
+
+            assertEquals(2, tickLog.maintain(200_000, 1_000_000, 100_000));
+
+            assertEquals(1, tickLog.segmentCount());
+            assertEquals(3, tickLog.latest(USD).scaledRate());
+            assertEquals(2, tickLog.latest(EUR).scaledRate());
+            assertEquals(1, tickLog.range(USD, 0, Long.MAX_VALUE).size());
+        }
+    }
+
+    @Test
+    void maintain_shouldRollOnSegmentAgeRatherThanTickAge() throws IOException {
+        try (TickLog tickLog = new TickLog(directory, 1 << 20, 4, false)) {
+            tickLog.maintain(100_000, 1000, 1_000_000);
+            tickLog.append(List.of(TickLog.Tick.of(USD, 1000, 1)));
+
+            tickLog.maintain(100_500, 1000, 1_000_000);
+            assertEquals(1, tickLog.segmentCount());
+
+            tickLog.maintain(101_000, 1000, 1_000_000);
+            assertEquals(2, tickLog.segmentCount());
+        }
+    }
+
+    @Test
+    void maintain_shouldCarryLatestRatesOnceIntoAFreshSegment() throws IOException {
+        try (TickLog tickLog = new TickLog(directory, 1 << 20, 4, false)) {
+            tickLog.maintain(0, 1000, 100_000);
+            tickLog.append(List.of(TickLog.Tick.of(USD, 1000, 1), TickLog.Tick.of(EUR, 1000, 2)));
+            tickLog.maintain(5000, 1000, 100_000);
+            tickLog.append(List.of(TickLog.Tick.of(USD, 150_000, 3)));
+
+            assertEquals(1, tickLog.maintain(200_000, 1000, 100_000));
+            assertEquals(2, tickLog.segmentCount());
+
+            for (long now = 200_100; now < 201_000; now += 100) {
+                assertEquals(0, tickLog.maintain(now, 1000, 100_000));
+            }
+            tickLog.append(List.of(TickLog.Tick.of(USD, 200_500, 4)));
+
+            assertEquals(2, tickLog.segmentCount());
+            assertEquals(2, tickLog.latest(EUR).scaledRate());
+            assertEquals(List.of(3L, 4L), tickLog.range(USD, 0, Long.MAX_VALUE).stream()
+                    .map(TickLog.Tick::scaledRate)
+                    .toList());
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+}
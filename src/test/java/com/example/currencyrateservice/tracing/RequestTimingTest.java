@@ -0,0 +1,53 @@
+package com.example.currencyrateservice.tracing;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestTimingTest {
+
+    @Test
+    void timed_withTimingInContext_shouldRecordStages() {
+        RequestTiming timing = new RequestTiming();
+
+        Mono<String> pipeline = RequestTiming.timed(RequestTiming.HANDLER_STAGE,
+                RequestTiming.timed("upstream-fiat", Mono.just("rates")));
+
+        StepVerifier.create(pipeline.contextWrite(context -> context.put(RequestTiming.CONTEXT_KEY, timing)))
+                .expectNext("rates")
+                .verifyComplete();
+        timing.markCommitted();
+
+        List<String> stages = timing.stages().stream().map(RequestTiming.Stage::name).toList();
+        assertEquals(List.of("upstream-fiat", RequestTiming.HANDLER_STAGE, RequestTiming.SERIALIZATION_STAGE), stages);
+        assertTrue(timing.toServerTimingHeader().matches(
+                "upstream-fiat;dur=\\d+\\.\\d, handler;dur=\\d+\\.\\d, serialize;dur=\\d+\\.\\d, total;dur=\\d+\\.\\d"));
+    }
+
+    @Test
+    void record_whenStageRepeats_shouldSumItsDurations() {
+        RequestTiming timing = new RequestTiming();
+
+        timing.record("save-fiat", 100, 130);
+        timing.record("upstream-fiat", 50, 400);
+        timing.record("save-fiat", 300, 320);
+
+        List<RequestTiming.Stage> stages = timing.stages();
+        assertEquals(List.of("upstream-fiat", "save-fiat"), stages.stream().map(RequestTiming.Stage::name).toList());
+        assertEquals(100, stages.get(1).startNanos());
+        assertEquals(50, stages.get(1).durationNanos());
+    }
+
+    @Test
+    void timed_withoutTimingInContext_shouldPassThrough() {
+        StepVerifier.create(RequestTiming.timed("upstream-fiat", Mono.just("rates")))
+                .expectNext("rates")
+                .verifyComplete();
+    }
+
+}